@@ -0,0 +1,444 @@
+package tabusearch;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Class used to measure the time taken by the hot paths of the solver.
+ *
+ * Every benchmark is first run repeatedly during a number of warm-up
+ * iterations, such that the code is compiled by the JIT compiler, and then
+ * during a number of measurement iterations. Each iteration lasts a fixed
+ * amount of time. The mean time per operation over the measurement iterations
+ * is reported, together with its standard deviation.
+ *
+ * The benchmarks are run for the test instances of the project and for
+ * synthetic, larger instances.
+ *
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class Benchmark {
+
+	/*********************************
+	 * CONSTRUCTORS
+	 *********************************/
+
+	/**
+	 * Initialize a benchmark with the given number of warm-up and measurement
+	 * iterations, each lasting the given time, writing its results to the
+	 * given stream.
+	 *
+	 * @param warmupIterations
+	 * @param measurementIterations
+	 * @param iterationTime
+	 *            The time of one iteration, in milliseconds.
+	 * @param out
+	 */
+	public Benchmark(int warmupIterations, int measurementIterations,
+			long iterationTime, PrintStream out) {
+		this.warmupIterations = warmupIterations;
+		this.measurementIterations = measurementIterations;
+		this.iterationTime = iterationTime;
+		this.out = out;
+	}
+
+	/**
+	 * Initialize a benchmark with 5 warm-up and 5 measurement iterations of
+	 * one second, writing its results to the console.
+	 */
+	public Benchmark() {
+		this(5, 5, 1000, System.out);
+	}
+
+	/*********************************
+	 * PARAMETERS
+	 *********************************/
+
+	/**
+	 * Variable referencing the number of warm-up iterations.
+	 */
+	private final int warmupIterations;
+
+	/**
+	 * @return the warmupIterations
+	 */
+	public int getWarmupIterations() {
+		return warmupIterations;
+	}
+
+	/**
+	 * Variable referencing the number of measurement iterations.
+	 */
+	private final int measurementIterations;
+
+	/**
+	 * @return the measurementIterations
+	 */
+	public int getMeasurementIterations() {
+		return measurementIterations;
+	}
+
+	/**
+	 * Variable referencing the time of one iteration, in milliseconds.
+	 */
+	private final long iterationTime;
+
+	/**
+	 * @return the iterationTime
+	 */
+	public long getIterationTime() {
+		return iterationTime;
+	}
+
+	/**
+	 * Variable referencing the stream to which the results are written.
+	 */
+	private final PrintStream out;
+
+	/**
+	 * @return the out
+	 */
+	public PrintStream getOut() {
+		return out;
+	}
+
+	/*********************************
+	 * INSTANCES
+	 *********************************/
+
+	/**
+	 * The test instances of the project, which are benchmarked.
+	 */
+	public static final String[] INSTANCES = { "ft06", "la01", "la21",
+			"abz7", "orb01" };
+
+	/**
+	 * The numbers of jobs and machines of the synthetic instances, which are
+	 * benchmarked.
+	 */
+	public static final int[][] SYNTHETIC_INSTANCES = { { 50, 20 },
+			{ 100, 20 } };
+
+	/**
+	 * Generate a random instance with the given number of jobs and machines.
+	 * Every job visits every machine once, in a random order, and every
+	 * operation takes between 1 and 99 time units.
+	 *
+	 * @return the instance, in the format of the test instances
+	 */
+	public static String generateInstance(int jobs, int machines, long seed) {
+		Random rand = new Random(seed);
+		StringBuilder res = new StringBuilder();
+		res.append("# random instance, seed " + seed + "\n");
+		res.append(jobs + " " + machines + "\n");
+		for (int j = 0; j < jobs; j++) {
+			int[] order = new int[machines];
+			for (int m = 0; m < machines; m++)
+				order[m] = m;
+			for (int m = machines - 1; m > 0; m--) {
+				int k = rand.nextInt(m + 1);
+				int tmp = order[m];
+				order[m] = order[k];
+				order[k] = tmp;
+			}
+			for (int m = 0; m < machines; m++)
+				res.append(order[m] + " " + (1 + rand.nextInt(99)) + " ");
+			res.append("\n");
+		}
+		return res.toString();
+	}
+
+	/**
+	 * Write a random instance with the given number of jobs and machines to a
+	 * temporary file, which is deleted when the virtual machine exits.
+	 *
+	 * @return the path of the file
+	 */
+	public static String writeInstance(int jobs, int machines, long seed)
+			throws IOException {
+		File file = File.createTempFile("jss-" + jobs + "x" + machines, ".txt");
+		file.deleteOnExit();
+		Writer writer = new FileWriter(file);
+		try {
+			writer.write(generateInstance(jobs, machines, seed));
+		} finally {
+			writer.close();
+		}
+		return file.getPath();
+	}
+
+	/*********************************
+	 * BENCHMARKS
+	 *********************************/
+
+	/**
+	 * Interface for the work which is measured by a benchmark.
+	 */
+	public interface Workload {
+
+		/**
+		 * Do the work once.
+		 *
+		 * @return the number of operations done
+		 */
+		int run();
+
+	}
+
+	/**
+	 * Class representing a workload of which every operation needs a fresh
+	 * solution, because a solution caches its longest path and machine
+	 * positions. The solutions are built and evaluated in batches, before
+	 * they are used, and this is not timed.
+	 */
+	public abstract static class SolutionWorkload implements Workload {
+
+		/**
+		 * Initialize a workload for solutions with the given schedule.
+		 */
+		public SolutionWorkload(Problem p, Operation[][] schedule) {
+			this.p = p;
+			this.schedule = schedule;
+		}
+
+		/**
+		 * Variable referencing the problem of the solutions.
+		 */
+		private final Problem p;
+
+		/**
+		 * Variable referencing the schedule of the solutions.
+		 */
+		private final Operation[][] schedule;
+
+		/**
+		 * Variable referencing the fresh solutions of the next operations.
+		 */
+		private final Solution[] batch = new Solution[BATCH_SIZE];
+
+		/**
+		 * Build and evaluate the solutions of the next operations.
+		 */
+		void prepare() {
+			for (int i = 0; i < batch.length; i++) {
+				batch[i] = new Solution(p, schedule);
+				batch[i].getCost();
+			}
+		}
+
+		/**
+		 * Do the work once for every solution of the batch.
+		 */
+		@Override
+		public int run() {
+			int operations = 0;
+			for (Solution s : batch)
+				operations += consume(run(s));
+			return operations;
+		}
+
+		/**
+		 * Do the work once for a given fresh, evaluated solution.
+		 *
+		 * @return the result of the work
+		 */
+		protected abstract int run(Solution s);
+
+	}
+
+	/**
+	 * The number of solutions built at once by a SolutionWorkload.
+	 */
+	private static final int BATCH_SIZE = 64;
+
+	/**
+	 * Variable referencing the results of all workloads, such that the JIT
+	 * compiler cannot leave out their work.
+	 */
+	private static volatile int sink;
+
+	/**
+	 * Consume a result of a workload, such that it has to be calculated.
+	 *
+	 * @return 1, the number of operations done
+	 */
+	private static int consume(int result) {
+		sink ^= result;
+		return 1;
+	}
+
+	/**
+	 * Run all benchmarks for the test instances in the given directory and
+	 * for the synthetic instances.
+	 */
+	public void runAll(String directory) throws IOException {
+		getOut().println(String.format("%-28s %-10s %14s %10s", "Benchmark",
+				"Instance", "ns/op", "error"));
+		for (String name : INSTANCES)
+			run(name, new File(directory, name + ".txt").getPath());
+		for (int[] size : SYNTHETIC_INSTANCES)
+			run(size[0] + "x" + size[1],
+					writeInstance(size[0], size[1], size[0] * size[1]));
+	}
+
+	/**
+	 * Run all benchmarks for the instance in the given file.
+	 *
+	 * @param name
+	 *            The name of the instance in the results.
+	 * @param path
+	 *            The path of the instance.
+	 */
+	public void run(String name, final String path) {
+		final Problem p = Parser.parseInstance(path);
+		final Solution s = TabuSearch.getInitialSolution(p);
+		final Operation[][] schedule = s.cloneSchedule();
+		final Move[] moves = s.getPossibleInversionsN1().toArray(new Move[0]);
+
+		measure("parseInstance", name, new Workload() {
+			@Override
+			public int run() {
+				return consume(Parser.parseInstance(path)
+						.getNumberOfOperations());
+			}
+		});
+		measure("parseInstanceChannel", name, new Workload() {
+			@Override
+			public int run() {
+				try {
+					return consume(ChannelParser.parseInstance(path)
+							.getNumberOfOperations());
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		});
+		measure("getInitialSolution", name, new Workload() {
+			@Override
+			public int run() {
+				return consume(TabuSearch.getInitialSolution(p)
+						.getMachinePosition(p.getV().get(1)));
+			}
+		});
+		measure("getInitialSolutionOnlyLeft", name, new Workload() {
+			@Override
+			public int run() {
+				return consume(TabuSearch.getInitialSolutionOnlyLeft(p)
+						.getMachinePosition(p.getV().get(1)));
+			}
+		});
+		measure("getCost", name, new Workload() {
+			@Override
+			public int run() {
+				return consume(new Solution(p, schedule).getCost());
+			}
+		});
+		measure("getPossibleInversionsN1", name, new SolutionWorkload(p,
+				schedule) {
+			@Override
+			protected int run(Solution s) {
+				return s.getPossibleInversionsN1().size();
+			}
+		});
+		measure("getPossibleInversionsNA", name, new SolutionWorkload(p,
+				schedule) {
+			@Override
+			protected int run(Solution s) {
+				return s.getPossibleInversionsNA().size();
+			}
+		});
+		measure("Neighbor1", name, new Workload() {
+			private int next = 0;
+
+			@Override
+			public int run() {
+				Move m = moves[next++ % moves.length];
+				return consume(new Neighbor1(m, s).getNewSolution().getCost());
+			}
+		});
+		// the tabu list is built once per search, so its cost is spread over
+		// the iterations of the search
+		measure("tabuIteration", name, new Workload() {
+			@Override
+			public int run() {
+				TabuSearch ts = new TabuSearch(p, 0);
+				ts.setSafetyStop(TABU_ITERATIONS);
+				consume(ts.search(s).getCost());
+				return Math.max(1, ts.getNumberOfIterations());
+			}
+		});
+	}
+
+	/**
+	 * The number of iterations of one tabu search in the tabuIteration
+	 * benchmark.
+	 */
+	private static final int TABU_ITERATIONS = 100;
+
+	/**
+	 * Measure the mean time per operation of the given workload and write the
+	 * result.
+	 *
+	 * @return the mean time per operation, in nanoseconds
+	 */
+	public double measure(String benchmark, String instance, Workload w) {
+		for (int i = 0; i < getWarmupIterations(); i++)
+			runIteration(w);
+
+		double[] times = new double[getMeasurementIterations()];
+		double mean = 0;
+		for (int i = 0; i < times.length; i++) {
+			times[i] = runIteration(w);
+			mean += times[i] / times.length;
+		}
+		double variance = 0;
+		for (double t : times)
+			variance += (t - mean) * (t - mean) / Math.max(1, times.length - 1);
+
+		getOut().println(String.format("%-28s %-10s %14.1f %10.1f",
+				benchmark, instance, mean, Math.sqrt(variance)));
+		return mean;
+	}
+
+	/**
+	 * Run the given workload repeatedly during one iteration.
+	 *
+	 * @return the mean time per operation, in nanoseconds
+	 */
+	private double runIteration(Workload w) {
+		long now = System.nanoTime();
+		long end = now + getIterationTime() * 1000000L;
+		long operations = 0;
+		long time = 0;
+		do {
+			if (w instanceof SolutionWorkload) {
+				((SolutionWorkload) w).prepare(); // not timed
+				now = System.nanoTime();
+			}
+			long start = now;
+			operations += w.run();
+			now = System.nanoTime();
+			time += now - start;
+		} while (now < end);
+		return (double) time / operations;
+	}
+
+	/*********************************
+	 * MAIN
+	 *********************************/
+
+	/**
+	 * Run all benchmarks. The first argument is the directory of the test
+	 * instances, which is "testinstances" by default.
+	 */
+	public static void main(String[] args) throws IOException {
+		new Benchmark().runAll(args.length > 0 ? args[0] : "testinstances");
+	}
+
+}
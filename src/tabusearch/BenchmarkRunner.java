@@ -0,0 +1,370 @@
+package tabusearch;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Class used to run the complete tabu search on all test instances in a
+ * directory, in a reproducible way.
+ *
+ * Every instance is first solved a number of times to warm up the JIT
+ * compiler. Afterwards, it is solved a number of times with fixed seeds. For
+ * every run the makespan, the gap to the optimal cost, the time at which the
+ * best solution was found, the number of iterations per second and the number
+ * of bytes allocated per iteration are recorded. The results can be written
+ * as CSV or JSON, with the median, the 90th percentile and the maximum of
+ * every metric per instance.
+ *
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class BenchmarkRunner {
+
+	/*********************************
+	 * CONSTRUCTORS
+	 *********************************/
+
+	/**
+	 * Initialize a runner with the given number of warm-up runs and measured
+	 * runs per instance. The i-th measured run uses seed + i.
+	 *
+	 * @param warmupRuns
+	 * @param repetitions
+	 * @param seed
+	 */
+	public BenchmarkRunner(int warmupRuns, int repetitions, long seed) {
+		this.warmupRuns = warmupRuns;
+		this.repetitions = repetitions;
+		this.seed = seed;
+	}
+
+	/**
+	 * Initialize a runner with 3 warm-up runs and 10 measured runs per
+	 * instance, starting from seed 0.
+	 */
+	public BenchmarkRunner() {
+		this(3, 10, 0);
+	}
+
+	/*********************************
+	 * PARAMETERS
+	 *********************************/
+
+	/**
+	 * Variable referencing the number of warm-up runs per instance.
+	 */
+	private final int warmupRuns;
+
+	/**
+	 * @return the warmupRuns
+	 */
+	public int getWarmupRuns() {
+		return warmupRuns;
+	}
+
+	/**
+	 * Variable referencing the number of measured runs per instance.
+	 */
+	private final int repetitions;
+
+	/**
+	 * @return the repetitions
+	 */
+	public int getRepetitions() {
+		return repetitions;
+	}
+
+	/**
+	 * Variable referencing the seed of the first measured run.
+	 */
+	private final long seed;
+
+	/**
+	 * @return the seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/*********************************
+	 * RESULTS
+	 *********************************/
+
+	/**
+	 * The names of the recorded metrics.
+	 */
+	public static final String[] METRICS = { "makespan", "gap",
+			"timeToBest", "iterationsPerSecond", "bytesPerIteration" };
+
+	/**
+	 * Class representing the results of all runs on one instance.
+	 */
+	public static class InstanceResult {
+
+		/**
+		 * Initialize the results of an instance without runs.
+		 */
+		private InstanceResult(String name, Problem p, int runs) {
+			this.name = name;
+			jobs = p.getNumberOfJobs();
+			machines = p.getNumberOfMachines();
+			optimum = p.getOptimalCost();
+			seeds = new long[runs];
+			values = new double[METRICS.length][runs];
+		}
+
+		/**
+		 * Variables referencing the name, the number of jobs, the number of
+		 * machines and the optimal cost (-1 if not known) of the instance.
+		 */
+		private final String name;
+		private final int jobs, machines, optimum;
+
+		/**
+		 * Variable referencing the seed of every run.
+		 */
+		private final long[] seeds;
+
+		/**
+		 * Variable referencing the value of every metric (in the order of
+		 * METRICS) of every run. The gap is NaN if the optimal cost is not
+		 * known, the number of bytes is NaN if it cannot be measured.
+		 */
+		private final double[][] values;
+
+		/**
+		 * @return the name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Get the number of runs.
+		 */
+		public int getNumberOfRuns() {
+			return seeds.length;
+		}
+
+		/**
+		 * Get the value of the given metric (an index in METRICS) of the given
+		 * run.
+		 */
+		public double getValue(int metric, int run) {
+			return values[metric][run];
+		}
+
+		/**
+		 * Get the given percentile (between 0 and 100) of the given metric
+		 * (an index in METRICS) over all runs, using the nearest rank. This is
+		 * NaN if the metric is not known.
+		 */
+		public double getPercentile(int metric, double percentile) {
+			double[] sorted = values[metric].clone();
+			Arrays.sort(sorted);
+			int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+			return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+		}
+
+	}
+
+	/*********************************
+	 * RUNS
+	 *********************************/
+
+	/**
+	 * Solve all test instances (.txt files) in the given directory, in the
+	 * order of their names.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If the directory or one of its instances cannot be read.
+	 */
+	public List<InstanceResult> run(String directory) {
+		File[] files = new File(directory).listFiles();
+		if (files == null)
+			throw new IllegalArgumentException("Not a directory: " + directory);
+		Arrays.sort(files);
+
+		List<InstanceResult> results = new ArrayList<InstanceResult>();
+		for (File file : files)
+			if (file.getName().endsWith(".txt"))
+				results.add(run(file));
+		return results;
+	}
+
+	/**
+	 * Solve the test instance in the given file.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If the instance cannot be read.
+	 */
+	public InstanceResult run(File file) {
+		Problem p = Parser.parseInstance(file.getPath());
+		if (p == null)
+			throw new IllegalArgumentException("Invalid instance: " + file);
+
+		for (int i = 0; i < getWarmupRuns(); i++)
+			new TabuSearch(p, getSeed() - 1 - i).search();
+
+		InstanceResult result = new InstanceResult(file.getName().replace(
+				".txt", ""), p, getRepetitions());
+		for (int i = 0; i < getRepetitions(); i++) {
+			long seed = getSeed() + i;
+			TabuSearch ts = new TabuSearch(p, seed);
+
+			long bytes = getAllocatedBytes();
+			long start = System.nanoTime();
+			Solution s = ts.search();
+			long time = System.nanoTime() - start;
+			bytes = getAllocatedBytes() - bytes;
+
+			int iterations = Math.max(1, ts.getNumberOfIterations());
+			result.seeds[i] = seed;
+			result.values[0][i] = s.getCost();
+			result.values[1][i] = p.getOptimalCost() > 0 ? 100.0
+					* (s.getCost() - p.getOptimalCost()) / p.getOptimalCost()
+					: Double.NaN;
+			result.values[2][i] = ts.getTimeToBest() / 1E9;
+			result.values[3][i] = iterations / (time / 1E9);
+			result.values[4][i] = bytes < 0 ? Double.NaN : (double) bytes
+					/ iterations;
+		}
+		return result;
+	}
+
+	/**
+	 * Get the number of bytes allocated so far by the current thread, or a
+	 * negative value if this cannot be measured by the virtual machine.
+	 */
+	private static long getAllocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean b = (com.sun.management.ThreadMXBean) bean;
+			if (b.isThreadAllocatedMemorySupported()
+					&& b.isThreadAllocatedMemoryEnabled())
+				return b.getThreadAllocatedBytes(Thread.currentThread()
+						.getId());
+		}
+		return -1;
+	}
+
+	/*********************************
+	 * OUTPUT
+	 *********************************/
+
+	/**
+	 * Write the median, the 90th percentile and the maximum of every metric
+	 * of every instance as CSV, one line per instance.
+	 */
+	public static void writeCsv(List<InstanceResult> results, PrintStream out) {
+		String header = "instance,jobs,machines,optimum,runs";
+		for (String metric : METRICS)
+			header += "," + metric + "_p50," + metric + "_p90," + metric
+					+ "_max";
+		out.println(header);
+
+		for (InstanceResult r : results) {
+			String line = r.name + "," + r.jobs + "," + r.machines + ","
+					+ r.optimum + "," + r.getNumberOfRuns();
+			for (int m = 0; m < METRICS.length; m++)
+				line += "," + format(r.getPercentile(m, 50)) + ","
+						+ format(r.getPercentile(m, 90)) + ","
+						+ format(r.getPercentile(m, 100));
+			out.println(line);
+		}
+	}
+
+	/**
+	 * Write all runs of every instance as JSON, together with the median, the
+	 * 90th percentile and the maximum of every metric.
+	 */
+	public static void writeJson(List<InstanceResult> results, PrintStream out) {
+		out.println("[");
+		for (int i = 0; i < results.size(); i++) {
+			InstanceResult r = results.get(i);
+			out.println("  {");
+			out.println("    \"instance\": \"" + r.name + "\", \"jobs\": "
+					+ r.jobs + ", \"machines\": " + r.machines
+					+ ", \"optimum\": "
+					+ (r.optimum > 0 ? "" + r.optimum : "null") + ",");
+
+			out.println("    \"runs\": [");
+			for (int k = 0; k < r.getNumberOfRuns(); k++) {
+				String run = "      {\"seed\": " + r.seeds[k];
+				for (int m = 0; m < METRICS.length; m++)
+					run += ", \"" + METRICS[m] + "\": "
+							+ json(r.getValue(m, k));
+				out.println(run + "}" + (k < r.getNumberOfRuns() - 1 ? "," : ""));
+			}
+			out.println("    ],");
+
+			out.println("    \"summary\": {");
+			for (int m = 0; m < METRICS.length; m++)
+				out.println("      \"" + METRICS[m] + "\": {\"p50\": "
+						+ json(r.getPercentile(m, 50)) + ", \"p90\": "
+						+ json(r.getPercentile(m, 90)) + ", \"max\": "
+						+ json(r.getPercentile(m, 100)) + "}"
+						+ (m < METRICS.length - 1 ? "," : ""));
+			out.println("    }");
+			out.println("  }" + (i < results.size() - 1 ? "," : ""));
+		}
+		out.println("]");
+	}
+
+	/**
+	 * Format a value for CSV. An unknown value is left empty.
+	 */
+	private static String format(double value) {
+		return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.4f",
+				value);
+	}
+
+	/**
+	 * Format a value for JSON. An unknown value is null.
+	 */
+	private static String json(double value) {
+		return Double.isNaN(value) ? "null" : format(value);
+	}
+
+	/*********************************
+	 * MAIN
+	 *********************************/
+
+	/**
+	 * Run all test instances and write the results to [prefix].csv and
+	 * [prefix].json.
+	 *
+	 * The input args are the directory of the test instances ("testinstances"
+	 * by default), the number of measured runs per instance (10 by default)
+	 * and the prefix of the output files ("benchmark" by default).
+	 */
+	public static void main(String[] args) throws FileNotFoundException {
+		String directory = args.length > 0 ? args[0] : "testinstances";
+		int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		String prefix = args.length > 2 ? args[2] : "benchmark";
+
+		List<InstanceResult> results = new BenchmarkRunner(3, repetitions, 0)
+				.run(directory);
+
+		PrintStream csv = new PrintStream(prefix + ".csv");
+		try {
+			writeCsv(results, csv);
+		} finally {
+			csv.close();
+		}
+		PrintStream json = new PrintStream(prefix + ".json");
+		try {
+			writeJson(results, json);
+		} finally {
+			json.close();
+		}
+	}
+
+}
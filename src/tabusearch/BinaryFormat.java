@@ -0,0 +1,616 @@
+package tabusearch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedList;
+
+/**
+ * Class used to store problems and solutions in a compact binary format, which
+ * can be loaded again much faster than the text formats.
+ * 
+ * Both formats consist of big-endian ints. A problem starts with the magic
+ * number PROBLEM_MAGIC and the version, followed by the number of jobs, the
+ * number of machines and the optimal cost (-1 if not known). Then follow, for
+ * every job, the index of its first operation (and finally the total number of
+ * operations), and for all operations in the order of their jobs first the
+ * machines and then the durations.
+ * 
+ * A solution starts with the magic number SOLUTION_MAGIC and the version,
+ * followed by the number of machines and the cost (-1 if not known). Then
+ * follow, for every machine, the index of its first operation (and finally
+ * the total number of operations), and the ids of the operations on every
+ * machine in the order in which they are processed.
+ * 
+ * A stored problem or solution is read through a view on a buffer, which is
+ * mapped into memory, without creating any object per operation. The view can
+ * be converted into a Problem or Solution when it is needed.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class BinaryFormat {
+
+	/*********************************
+	 * FORMAT
+	 *********************************/
+
+	/**
+	 * The first int of a stored problem ("JSSP").
+	 */
+	public static final int PROBLEM_MAGIC = 0x4A535350;
+
+	/**
+	 * The first int of a stored solution ("JSSS").
+	 */
+	public static final int SOLUTION_MAGIC = 0x4A535353;
+
+	/**
+	 * The version of the format, which is stored after the magic number.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * The number of ints before the indices in a stored problem.
+	 */
+	private static final int PROBLEM_HEADER = 5;
+
+	/**
+	 * The number of ints before the indices in a stored solution.
+	 */
+	private static final int SOLUTION_HEADER = 4;
+
+	/*********************************
+	 * WRITING
+	 *********************************/
+
+	/**
+	 * Encode a problem.
+	 */
+	public static ByteBuffer encode(Problem p) {
+		int jobs = p.getNumberOfJobs();
+		int operations = p.getNumberOfOperations() - 2;
+		IntBuffer ints = IntBuffer.allocate(PROBLEM_HEADER + jobs + 1 + 2
+				* operations);
+		ints.put(PROBLEM_MAGIC).put(VERSION).put(jobs)
+				.put(p.getNumberOfMachines()).put(p.getOptimalCost());
+
+		int index = 0;
+		for (LinkedList<Operation> job : p.getA()) {
+			ints.put(index);
+			index += job.size();
+		}
+		ints.put(index);
+		for (LinkedList<Operation> job : p.getA())
+			for (Operation o : job)
+				ints.put(o.getMachine().getId());
+		for (LinkedList<Operation> job : p.getA())
+			for (Operation o : job)
+				ints.put(o.getDuration());
+		return toBytes(ints.array());
+	}
+
+	/**
+	 * Encode a solution.
+	 */
+	public static ByteBuffer encode(Solution s) {
+		return encode(s.getMachineSequences(), s.getCost());
+	}
+
+	/**
+	 * Encode a solution, given by the ids of the operations on every machine
+	 * in the order in which they are processed, and its cost.
+	 */
+	public static ByteBuffer encode(int[][] sequences, int cost) {
+		int operations = 0;
+		for (int[] sequence : sequences)
+			operations += sequence.length;
+		IntBuffer ints = IntBuffer.allocate(SOLUTION_HEADER
+				+ sequences.length + 1 + operations);
+		ints.put(SOLUTION_MAGIC).put(VERSION).put(sequences.length)
+				.put(cost);
+
+		int index = 0;
+		for (int[] sequence : sequences) {
+			ints.put(index);
+			index += sequence.length;
+		}
+		ints.put(index);
+		for (int[] sequence : sequences)
+			ints.put(sequence);
+		return toBytes(ints.array());
+	}
+
+	/**
+	 * Get the bytes of the given ints.
+	 */
+	private static ByteBuffer toBytes(int[] ints) {
+		ByteBuffer bytes = ByteBuffer.allocate(4 * ints.length);
+		bytes.asIntBuffer().put(ints);
+		return bytes;
+	}
+
+	/**
+	 * Store a problem in a given file.
+	 * 
+	 * @throws IOException
+	 *             If the file cannot be written.
+	 */
+	public static void write(Problem p, Path path) throws IOException {
+		write(encode(p), path);
+	}
+
+	/**
+	 * Store a solution in a given file.
+	 * 
+	 * @throws IOException
+	 *             If the file cannot be written.
+	 */
+	public static void write(Solution s, Path path) throws IOException {
+		write(encode(s), path);
+	}
+
+	/**
+	 * Write the given bytes to a given file, replacing its content.
+	 */
+	private static void write(ByteBuffer bytes, Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			while (bytes.hasRemaining())
+				channel.write(bytes);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/*********************************
+	 * READING
+	 *********************************/
+
+	/**
+	 * Map a file into memory.
+	 */
+	private static ByteBuffer map(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0,
+					channel.size());
+		} finally {
+			channel.close(); // the mapping stays valid
+		}
+	}
+
+	/**
+	 * Get a view on the problem stored in a given file, which is mapped into
+	 * memory.
+	 * 
+	 * @throws InstanceFormatException
+	 *             If the file does not contain a problem of this version.
+	 * @throws IOException
+	 *             If the file cannot be read.
+	 */
+	public static ProblemView readProblem(Path path) throws IOException {
+		return new ProblemView(map(path), path.toString());
+	}
+
+	/**
+	 * Get a view on the solution stored in a given file, which is mapped into
+	 * memory.
+	 * 
+	 * @throws InstanceFormatException
+	 *             If the file does not contain a solution of this version.
+	 * @throws IOException
+	 *             If the file cannot be read.
+	 */
+	public static SolutionView readSolution(Path path) throws IOException {
+		return new SolutionView(map(path), path.toString());
+	}
+
+	/**
+	 * Check the magic number, the version and the size of a stored problem
+	 * or solution.
+	 * 
+	 * @param header
+	 *            The number of ints before the indices.
+	 * @param count
+	 *            The position of the number of jobs or machines, which is
+	 *            the number of indices minus 1.
+	 * @param perOperation
+	 *            The number of ints per operation.
+	 */
+	private static IntBuffer check(ByteBuffer bytes, String source,
+			int magic, int header, int count, int perOperation)
+			throws InstanceFormatException {
+		if (bytes.remaining() % 4 != 0 || bytes.remaining() < 4 * header)
+			throw new InstanceFormatException(source, "invalid size");
+		IntBuffer ints = bytes.slice().asIntBuffer();
+		if (ints.get(0) != magic)
+			throw new InstanceFormatException(source, "invalid magic number");
+		if (ints.get(1) != VERSION)
+			throw new InstanceFormatException(source, "unsupported version "
+					+ ints.get(1));
+		int n = ints.get(count);
+		if (n < 0 || ints.capacity() < header + n + 1)
+			throw new InstanceFormatException(source, "invalid size");
+		long operations = ints.get(header + n);
+		if (operations < 0
+				|| ints.capacity() != header + n + 1 + perOperation
+						* operations)
+			throw new InstanceFormatException(source, "invalid size");
+		return ints;
+	}
+
+	/**
+	 * Class representing a view on a stored problem. Every value is read
+	 * directly from the buffer when it is asked for.
+	 */
+	public static class ProblemView {
+
+		/**
+		 * Initialize a view on the problem in the remaining bytes of a given
+		 * buffer.
+		 * 
+		 * @throws InstanceFormatException
+		 *             If the bytes do not contain a problem of this version.
+		 */
+		public ProblemView(ByteBuffer bytes, String source)
+				throws InstanceFormatException {
+			ints = check(bytes, source, PROBLEM_MAGIC, PROBLEM_HEADER, 2, 2);
+			this.source = source;
+			jobs = ints.get(2);
+			operations = ints.get(PROBLEM_HEADER + jobs);
+		}
+
+		/**
+		 * Variables referencing the stored ints, the name of their source,
+		 * the number of jobs and the number of operations.
+		 */
+		private final IntBuffer ints;
+		private final String source;
+		private final int jobs, operations;
+
+		/**
+		 * Get the number of jobs.
+		 */
+		public int getNumberOfJobs() {
+			return jobs;
+		}
+
+		/**
+		 * Get the number of machines.
+		 */
+		public int getNumberOfMachines() {
+			return ints.get(3);
+		}
+
+		/**
+		 * Get the optimal cost, or -1 if it is not known.
+		 */
+		public int getOptimalCost() {
+			return ints.get(4);
+		}
+
+		/**
+		 * Get the number of operations of all jobs.
+		 */
+		public int getNumberOfOperations() {
+			return operations;
+		}
+
+		/**
+		 * Get the number of operations of a given job.
+		 */
+		public int getNumberOfOperations(int job) {
+			return first(job + 1) - first(job);
+		}
+
+		/**
+		 * Get the machine of the k-th operation of a given job.
+		 */
+		public int getMachine(int job, int k) {
+			return ints.get(PROBLEM_HEADER + jobs + 1 + first(job) + k);
+		}
+
+		/**
+		 * Get the duration of the k-th operation of a given job.
+		 */
+		public int getDuration(int job, int k) {
+			return ints.get(PROBLEM_HEADER + jobs + 1 + operations
+					+ first(job) + k);
+		}
+
+		/**
+		 * Get the index of the first operation of a given job.
+		 */
+		private int first(int job) {
+			return ints.get(PROBLEM_HEADER + job);
+		}
+
+		/**
+		 * Create the problem.
+		 * 
+		 * @throws InstanceFormatException
+		 *             If the stored problem is not valid.
+		 */
+		public Problem toProblem() throws InstanceFormatException {
+			int machines = getNumberOfMachines();
+			if (jobs <= 0 || machines <= 0)
+				throw new InstanceFormatException(source, "invalid size");
+			int[][] machineOfOperation = new int[jobs][];
+			int[][] durationOfOperation = new int[jobs][];
+			for (int j = 0; j < jobs; j++) {
+				int size = getNumberOfOperations(j);
+				if (size < 0)
+					throw new InstanceFormatException(source,
+							"invalid job " + j);
+				machineOfOperation[j] = new int[size];
+				durationOfOperation[j] = new int[size];
+				for (int k = 0; k < size; k++) {
+					machineOfOperation[j][k] = getMachine(j, k);
+					durationOfOperation[j][k] = getDuration(j, k);
+					if (machineOfOperation[j][k] < 0
+							|| machineOfOperation[j][k] >= machines
+							|| durationOfOperation[j][k] < 0)
+						throw new InstanceFormatException(source,
+								"invalid operation " + k + " of job " + j);
+				}
+			}
+			return ChannelParser.createProblem(machineOfOperation,
+					durationOfOperation, machines, getOptimalCost());
+		}
+
+	}
+
+	/**
+	 * Class representing a view on a stored solution. Every value is read
+	 * directly from the buffer when it is asked for.
+	 */
+	public static class SolutionView {
+
+		/**
+		 * Initialize a view on the solution in the remaining bytes of a given
+		 * buffer.
+		 * 
+		 * @throws InstanceFormatException
+		 *             If the bytes do not contain a solution of this version.
+		 */
+		public SolutionView(ByteBuffer bytes, String source)
+				throws InstanceFormatException {
+			ints = check(bytes, source, SOLUTION_MAGIC, SOLUTION_HEADER, 2, 1);
+			this.source = source;
+			machines = ints.get(2);
+		}
+
+		/**
+		 * Variables referencing the stored ints, the name of their source and
+		 * the number of machines.
+		 */
+		private final IntBuffer ints;
+		private final String source;
+		private final int machines;
+
+		/**
+		 * Get the number of machines.
+		 */
+		public int getNumberOfMachines() {
+			return machines;
+		}
+
+		/**
+		 * Get the cost of the solution, or -1 if it is not known.
+		 */
+		public int getCost() {
+			return ints.get(3);
+		}
+
+		/**
+		 * Get the number of operations on a given machine.
+		 */
+		public int getNumberOfOperations(int machine) {
+			return first(machine + 1) - first(machine);
+		}
+
+		/**
+		 * Get the id of the k-th operation on a given machine.
+		 */
+		public int getOperation(int machine, int k) {
+			return ints.get(SOLUTION_HEADER + machines + 1 + first(machine)
+					+ k);
+		}
+
+		/**
+		 * Get the index of the first operation on a given machine.
+		 */
+		private int first(int machine) {
+			return ints.get(SOLUTION_HEADER + machine);
+		}
+
+		/**
+		 * Create the solution of a given problem.
+		 * 
+		 * @throws InstanceFormatException
+		 *             If the stored solution does not schedule every
+		 *             operation of the problem once, on its machine.
+		 */
+		public Solution toSolution(Problem p) throws InstanceFormatException {
+			if (machines != p.getNumberOfMachines())
+				throw new InstanceFormatException(source, "expected "
+						+ p.getNumberOfMachines() + " machines");
+			Solution s = new Solution(p);
+			Operation[][] schedule = s.getSchedule();
+			boolean[] scheduled = new boolean[p.getNumberOfOperations()];
+			int count = 0;
+			for (int m = 0; m < machines; m++) {
+				int size = getNumberOfOperations(m);
+				if (size < 0 || size > schedule[m].length)
+					throw new InstanceFormatException(source,
+							"invalid machine " + m);
+				for (int k = 0; k < size; k++) {
+					int id = getOperation(m, k);
+					if (id <= 0 || id >= p.getNumberOfOperations() - 1
+							|| scheduled[id]
+							|| p.getV().get(id).getMachine().getId() != m)
+						throw new InstanceFormatException(source,
+								"invalid operation " + id + " on machine "
+										+ m);
+					scheduled[id] = true;
+					schedule[m][k] = p.getV().get(id);
+					count++;
+				}
+			}
+			if (count != p.getNumberOfOperations() - 2)
+				throw new InstanceFormatException(source,
+						"not every operation is scheduled");
+			return s;
+		}
+
+	}
+
+	/*********************************
+	 * CONVERSION
+	 *********************************/
+
+	/**
+	 * Read a solution of a given problem, written by printSolution(): the
+	 * number of jobs and machines, the starting time of every operation of
+	 * every job, and the cost. The operations on every machine are processed
+	 * in the order of their starting times. Operations of length zero with
+	 * the same starting time are ordered such that the starting times are
+	 * kept where possible; their order in the printed solution is not stored.
+	 * 
+	 * @throws InstanceFormatException
+	 *             If the file does not contain a solution of the problem, or
+	 *             an operation starts before its job predecessor ends.
+	 * @throws IOException
+	 *             If the file cannot be read.
+	 */
+	public static Solution parseSolution(Problem p, Path path)
+			throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			ChannelParser parser = new ChannelParser(channel, path.toString());
+			if (!parser.nextLine())
+				throw parser.error("missing number of jobs and machines");
+			int[] size = parser.readRow();
+			if (size.length != 2 || size[0] != p.getNumberOfJobs()
+					|| size[1] != p.getNumberOfMachines())
+				throw parser.error("expected " + p.getNumberOfJobs() + " "
+						+ p.getNumberOfMachines());
+			parser.endLine();
+
+			// the starting time of every operation, and the operations sorted
+			// on their starting times, with operations of length zero first
+			int[] start = new int[p.getNumberOfOperations()];
+			long[] keys = new long[p.getNumberOfOperations() - 2];
+			int n = 0;
+			for (LinkedList<Operation> job : p.getA()) {
+				if (!parser.nextLine())
+					throw parser.error("missing starting times");
+				int[] times = parser.readRow();
+				if (times.length != job.size())
+					throw parser.error("expected " + job.size()
+							+ " starting times");
+				int k = 0;
+				Operation previous = null;
+				for (Operation o : job) {
+					int time = times[k++];
+					if (time < 0 || previous != null && time < start[previous
+							.getId()] + previous.getDuration())
+						throw parser.error("operation " + o.getId()
+								+ " starts too early");
+					start[o.getId()] = time;
+					keys[n++] = (long) time << 32
+							| (o.getDuration() > 0 ? 1L << 31 : 0) | o.getId();
+					previous = o;
+				}
+				parser.endLine();
+			}
+			Arrays.sort(keys);
+
+			// Operations of length zero can share a starting time with other
+			// operations on their machine, so the machine sequences are not
+			// simply the order of the starting times. At every starting time,
+			// the operations of length zero are appended first, and an
+			// operation is preferably appended when the operations before it
+			// force its starting time, as in the schedule that was printed.
+			Solution s = new Solution(p);
+			Operation[][] schedule = s.getSchedule();
+			int[] count = new int[p.getNumberOfMachines()];
+			int[] end = new int[p.getNumberOfMachines()];
+			boolean[] scheduled = new boolean[p.getNumberOfOperations()];
+			LinkedList<Operation> pending = new LinkedList<Operation>();
+			int k = 0;
+			while (k < keys.length) {
+				long time = keys[k] >>> 32;
+				while (k < keys.length && keys[k] >>> 31 == time << 1)
+					pending.add(p.getV().get(
+							(int) (keys[k++] & Integer.MAX_VALUE)));
+				while (!pending.isEmpty()) {
+					Operation next = null;
+					for (Operation o : pending) {
+						Operation pj = p.getPJOfOperation(o);
+						if (pj != null && !scheduled[pj.getId()])
+							continue;
+						int ready = pj == null ? 0 : start[pj.getId()]
+								+ pj.getDuration();
+						if (next == null)
+							next = o;
+						if (Math.max(ready, end[o.getMachine().getId()]) == time) {
+							next = o;
+							break;
+						}
+					}
+					pending.remove(next);
+					appendOperation(next, start, schedule, count, end,
+							scheduled);
+				}
+				while (k < keys.length && keys[k] >>> 32 == time)
+					appendOperation(
+							p.getV().get((int) (keys[k++] & Integer.MAX_VALUE)),
+							start, schedule, count, end, scheduled);
+			}
+			return s;
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Append an operation to the sequence of its machine, for parseSolution().
+	 */
+	private static void appendOperation(Operation o, int[] start,
+			Operation[][] schedule, int[] count, int[] end, boolean[] scheduled) {
+		int m = o.getMachine().getId();
+		schedule[m][count[m]++] = o;
+		end[m] = start[o.getId()] + o.getDuration();
+		scheduled[o.getId()] = true;
+	}
+
+	/**
+	 * Convert text files to the binary format.
+	 * 
+	 * The input args are either "instance", the text instance and the binary
+	 * file, or "solution", the text instance, the text solution (written by
+	 * printSolution()) and the binary file.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length == 3 && args[0].equals("instance")) {
+			write(ChannelParser.parseInstance(args[1]), Paths.get(args[2]));
+		} else if (args.length == 4 && args[0].equals("solution")) {
+			Problem p = ChannelParser.parseInstance(args[1]);
+			write(parseSolution(p, Paths.get(args[2])), Paths.get(args[3]));
+		} else {
+			System.err.println("Usage: instance <instance.txt> <instance.bin>");
+			System.err.println("   or: solution <instance.txt> <solution.txt> "
+					+ "<solution.bin>");
+		}
+	}
+
+}
@@ -0,0 +1,515 @@
+package tabusearch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+
+/**
+ * Class representing a fast parser for a JSS instance, in the same format as
+ * the Parser.
+ * 
+ * The file is read through a file channel, or mapped into memory if it is
+ * very large, and the integers are read directly from the bytes, without
+ * building a string per line. Every job and every machine is represented by
+ * one object, which is shared by all its operations. Text following a # on a
+ * line is ignored, and so are empty lines. An invalid instance results in an
+ * InstanceFormatException, which tells on which line the error is.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class ChannelParser {
+
+	/*********************************
+	 * CONSTRUCTOR
+	 *********************************/
+
+	/**
+	 * Initialize a parser for the bytes remaining in a given buffer.
+	 * 
+	 * @param buffer
+	 * @param source
+	 *            The name of the file or stream, used in error messages.
+	 */
+	public ChannelParser(ByteBuffer buffer, String source) {
+		this.buffer = buffer;
+		this.source = source;
+		channel = null;
+	}
+
+	/**
+	 * Initialize a parser for the bytes of a given channel. The bytes are
+	 * read in blocks when they are needed, so the content of the channel is
+	 * never kept in memory as a whole.
+	 * 
+	 * @param channel
+	 * @param source
+	 *            The name of the file or stream, used in error messages.
+	 */
+	public ChannelParser(ReadableByteChannel channel, String source) {
+		buffer = ByteBuffer.allocate(BLOCK_SIZE);
+		buffer.flip(); // nothing has been read yet
+		this.source = source;
+		this.channel = channel;
+	}
+
+	/*********************************
+	 * PARSING
+	 *********************************/
+
+	/**
+	 * Files of at least this number of bytes (16 MB) are mapped into memory
+	 * instead of being read. A mapping is only released by the garbage
+	 * collector, so mapping many small files is slower than reading them.
+	 */
+	private static final int MAP_THRESHOLD = 1 << 24;
+
+	/**
+	 * Parse the test instance in a given file into a problem.
+	 * 
+	 * @throws InstanceFormatException
+	 *             If the file does not contain a valid instance.
+	 * @throws IOException
+	 *             If the file cannot be read.
+	 */
+	public static Problem parseInstance(String filename) throws IOException {
+		return parseInstance(Paths.get(filename));
+	}
+
+	/**
+	 * Parse the test instance in a given file into a problem.
+	 * 
+	 * @throws InstanceFormatException
+	 *             If the file does not contain a valid instance.
+	 * @throws IOException
+	 *             If the file cannot be read.
+	 */
+	public static Problem parseInstance(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			return new ChannelParser(read(channel), path.toString()).parse();
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Get the content of a file channel in a buffer.
+	 */
+	private static ByteBuffer read(FileChannel channel) throws IOException {
+		long size = channel.size();
+		if (size >= MAP_THRESHOLD)
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		ByteBuffer buffer = ByteBuffer.allocate((int) size);
+		while (buffer.hasRemaining() && channel.read(buffer) >= 0)
+			;
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Parse the next instance into a problem. The first line contains the
+	 * number of jobs, the number of machines and optionally the optimal cost.
+	 * Every following line contains the machine and the duration of every
+	 * operation of a job, in the order of the job.
+	 * 
+	 * @throws InstanceFormatException
+	 *             If the input does not contain a valid instance.
+	 * @throws IOException
+	 *             If the input cannot be read.
+	 */
+	public Problem parse() throws IOException {
+		if (!nextLine())
+			throw error("missing number of jobs and machines");
+		int numberOfJobs = readInt();
+		int numberOfMachines = readInt();
+		int optimum = hasInt() ? readInt() : -1;
+		endLine();
+		return parseJobs(numberOfJobs, numberOfMachines, optimum);
+	}
+
+	/**
+	 * Parse the jobs of an instance of the given size into a problem. Every
+	 * job is given on one line by the machine and the duration of each of its
+	 * operations, in the order of the job. Machines are numbered from 0.
+	 * 
+	 * @throws InstanceFormatException
+	 *             If the input does not contain the jobs.
+	 * @throws IOException
+	 *             If the input cannot be read.
+	 */
+	protected Problem parseJobs(int numberOfJobs, int numberOfMachines,
+			int optimum) throws IOException {
+		checkSize(numberOfJobs, numberOfMachines);
+		int[][] machines = new int[numberOfJobs][];
+		int[][] durations = new int[numberOfJobs][];
+		for (int i = 0; i < numberOfJobs; i++) {
+			if (!nextLine())
+				throw error("expected " + numberOfJobs + " jobs, found " + i);
+			int[] row = readRow();
+			if (row.length % 2 != 0)
+				throw error("missing duration on machine "
+						+ row[row.length - 1]);
+			machines[i] = new int[row.length / 2];
+			durations[i] = new int[row.length / 2];
+			for (int k = 0; k < row.length / 2; k++) {
+				machines[i][k] = checkMachine(row[2 * k], numberOfMachines);
+				durations[i][k] = checkDuration(row[2 * k + 1]);
+			}
+			endLine();
+		}
+		return createProblem(machines, durations, numberOfMachines, optimum);
+	}
+
+	/**
+	 * Parse the matrices of an instance of the given size in the format of
+	 * Taillard into a problem: first the line "Times", followed by the
+	 * durations of the operations of every job, then the line "Machines",
+	 * followed by the machines of the operations of every job. Machines are
+	 * numbered from 1.
+	 * 
+	 * @throws InstanceFormatException
+	 *             If the input does not contain the matrices.
+	 * @throws IOException
+	 *             If the input cannot be read.
+	 */
+	protected Problem parseMatrices(int numberOfJobs, int numberOfMachines,
+			int optimum) throws IOException {
+		checkSize(numberOfJobs, numberOfMachines);
+		readTitle("Times");
+		int[][] durations = new int[numberOfJobs][];
+		for (int i = 0; i < numberOfJobs; i++) {
+			durations[i] = readMatrixRow(numberOfMachines);
+			for (int k = 0; k < numberOfMachines; k++)
+				checkDuration(durations[i][k]);
+			endLine();
+		}
+		readTitle("Machines");
+		int[][] machines = new int[numberOfJobs][];
+		for (int i = 0; i < numberOfJobs; i++) {
+			machines[i] = readMatrixRow(numberOfMachines);
+			for (int k = 0; k < numberOfMachines; k++) {
+				if (machines[i][k] < 1 || machines[i][k] > numberOfMachines)
+					throw error("invalid machine " + machines[i][k]);
+				machines[i][k]--;
+			}
+			endLine();
+		}
+		return createProblem(machines, durations, numberOfMachines, optimum);
+	}
+
+	/**
+	 * Create a problem with the given machines and durations of the
+	 * operations of every job. Every job and every machine is represented by
+	 * one object.
+	 */
+	protected static Problem createProblem(int[][] machineOfOperation,
+			int[][] durationOfOperation, int numberOfMachines, int optimum) {
+		int numberOfJobs = machineOfOperation.length;
+		int size = 2;
+		for (int[] job : machineOfOperation)
+			size += job.length;
+
+		ArrayList<Operation> V = new ArrayList<Operation>(size);
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		LinkedList<Operation>[] A = new LinkedList[numberOfJobs];
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		LinkedList<Operation>[] E = new LinkedList[numberOfMachines];
+		Machine[] machines = new Machine[numberOfMachines];
+		for (int m = 0; m < numberOfMachines; m++) {
+			machines[m] = new Machine(m);
+			E[m] = new LinkedList<Operation>();
+		}
+		V.add(new Operation(0, null, null, 0)); // source
+
+		for (int i = 0; i < numberOfJobs; i++) {
+			Job j = new Job(i);
+			A[i] = new LinkedList<Operation>();
+			for (int k = 0; k < machineOfOperation[i].length; k++) {
+				int machine = machineOfOperation[i][k];
+				Operation o = new Operation(durationOfOperation[i][k], j,
+						machines[machine], V.size());
+				V.add(o);
+				A[i].add(o);
+				E[machine].add(o);
+			}
+		}
+		V.add(new Operation(0, null, null, V.size())); // sink
+
+		return new Problem(V, A, E, optimum);
+	}
+
+	/**
+	 * Check the number of jobs and machines of an instance.
+	 */
+	private void checkSize(int numberOfJobs, int numberOfMachines)
+			throws InstanceFormatException {
+		if (numberOfJobs <= 0 || numberOfMachines <= 0)
+			throw error("invalid size " + numberOfJobs + "x"
+					+ numberOfMachines);
+	}
+
+	/**
+	 * Check a machine, numbered from 0, of an operation on the current line.
+	 * 
+	 * @return the machine
+	 */
+	private int checkMachine(int machine, int numberOfMachines)
+			throws InstanceFormatException {
+		if (machine < 0 || machine >= numberOfMachines)
+			throw error("invalid machine " + machine);
+		return machine;
+	}
+
+	/**
+	 * Check a duration of an operation on the current line.
+	 * 
+	 * @return the duration
+	 */
+	private int checkDuration(int duration) throws InstanceFormatException {
+		if (duration < 0)
+			throw error("invalid duration " + duration);
+		return duration;
+	}
+
+	/**
+	 * Read the next line, which must consist of the given title.
+	 */
+	private void readTitle(String title) throws IOException {
+		if (!nextLine() || !title.equalsIgnoreCase(readWord()))
+			throw error("expected " + title);
+		endLine();
+	}
+
+	/**
+	 * Read the integers on the next line, which must consist of the given
+	 * number of integers.
+	 */
+	private int[] readMatrixRow(int length) throws IOException {
+		if (!nextLine())
+			throw error("missing row");
+		int[] row = readRow();
+		if (row.length != length)
+			throw error("expected " + length + " integers, found "
+					+ row.length);
+		return row;
+	}
+
+	/*********************************
+	 * TOKENIZER
+	 *********************************/
+
+	/**
+	 * Variable referencing the buffer, of which the remaining bytes are
+	 * parsed.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * Variable referencing the name of the file or stream, which is parsed.
+	 */
+	private final String source;
+
+	/**
+	 * Variable referencing the channel from which the buffer is filled, or
+	 * null if there are no more bytes than those in the buffer.
+	 */
+	private ReadableByteChannel channel;
+
+	/**
+	 * The number of bytes read at once from a channel.
+	 */
+	private static final int BLOCK_SIZE = 1 << 16;
+
+	/**
+	 * Check if there is another byte, reading the next block from the channel
+	 * if the buffer has been parsed completely.
+	 */
+	private boolean available() throws IOException {
+		if (buffer.hasRemaining())
+			return true;
+		if (channel == null)
+			return false;
+		buffer.clear();
+		int read = 0;
+		while (read == 0)
+			read = channel.read(buffer);
+		buffer.flip();
+		if (read < 0)
+			channel = null; // end of the channel
+		return read > 0;
+	}
+
+	/**
+	 * Get the next byte, without moving past it.
+	 */
+	private byte peek() {
+		return buffer.get(buffer.position());
+	}
+
+	/**
+	 * Variable referencing the number of the current line.
+	 */
+	private int line = 1;
+
+	/**
+	 * @return the line
+	 */
+	public int getLine() {
+		return line;
+	}
+
+	/**
+	 * Go to the next line containing a token, skipping empty lines and
+	 * comments.
+	 * 
+	 * @return false if the end of the input has been reached
+	 */
+	protected boolean nextLine() throws IOException {
+		while (true) {
+			if (hasToken())
+				return true;
+			if (!available())
+				return false;
+			skipLine();
+		}
+	}
+
+	/**
+	 * Check if there is another token (an integer or a word) on the current
+	 * line.
+	 */
+	protected boolean hasToken() throws IOException {
+		skipBlanks();
+		if (!available())
+			return false;
+		byte b = peek();
+		return b != '\n' && b != '#';
+	}
+
+	/**
+	 * Check if the next token on the current line is an integer.
+	 */
+	protected boolean hasInt() throws IOException {
+		if (!hasToken())
+			return false;
+		byte b = peek();
+		return b == '-' || b >= '0' && b <= '9';
+	}
+
+	/**
+	 * Read the next integer on the current line.
+	 * 
+	 * @throws InstanceFormatException
+	 *             If the next token is not an integer.
+	 */
+	protected int readInt() throws IOException {
+		if (!hasToken())
+			throw error("missing integer");
+		boolean negative = peek() == '-';
+		if (negative)
+			buffer.get();
+		long value = 0;
+		int digits = 0;
+		while (available()) {
+			int d = peek() - '0';
+			if (d < 0 || d > 9)
+				break;
+			buffer.get();
+			value = value * 10 + d;
+			if (value > Integer.MAX_VALUE)
+				throw error("integer too large");
+			digits++;
+		}
+		if (digits == 0 || available() && !isSeparator(peek()))
+			throw error("invalid integer");
+		return (int) (negative ? -value : value);
+	}
+
+	/**
+	 * Read the next word on the current line: all bytes up to the next
+	 * separator.
+	 */
+	protected String readWord() throws IOException {
+		StringBuilder word = new StringBuilder();
+		if (hasToken())
+			while (available() && !isSeparator(peek()))
+				word.append((char) buffer.get());
+		return word.toString();
+	}
+
+	/**
+	 * Read all integers on the current line.
+	 * 
+	 * @throws InstanceFormatException
+	 *             If the line contains another token.
+	 */
+	protected int[] readRow() throws IOException {
+		int[] row = new int[16];
+		int size = 0;
+		while (hasToken()) {
+			if (size == row.length)
+				row = Arrays.copyOf(row, 2 * size);
+			row[size++] = readInt();
+		}
+		return Arrays.copyOf(row, size);
+	}
+
+	/**
+	 * Go to the start of the next line. Only a comment may follow on the
+	 * current line.
+	 * 
+	 * @throws InstanceFormatException
+	 *             If another token follows on the current line.
+	 */
+	protected void endLine() throws IOException {
+		if (hasToken())
+			throw error("unexpected text");
+		skipLine();
+	}
+
+	/**
+	 * Skip the rest of the current line.
+	 */
+	protected void skipLine() throws IOException {
+		while (available())
+			if (buffer.get() == '\n') {
+				line++;
+				return;
+			}
+	}
+
+	/**
+	 * Skip spaces, tabs and carriage returns on the current line.
+	 */
+	private void skipBlanks() throws IOException {
+		while (available()) {
+			byte b = peek();
+			if (b != ' ' && b != '\t' && b != '\r')
+				return;
+			buffer.get();
+		}
+	}
+
+	/**
+	 * Check if a byte ends a token.
+	 */
+	private static boolean isSeparator(byte b) {
+		return b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == '#';
+	}
+
+	/**
+	 * Get an exception for an error on the current line.
+	 */
+	protected InstanceFormatException error(String message) {
+		return new InstanceFormatException(source, line, message);
+	}
+
+}
@@ -0,0 +1,570 @@
+package tabusearch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Class representing a checkpoint of a tabu search: everything needed to
+ * continue an interrupted run of the search exactly where it was interrupted.
+ * 
+ * A checkpoint contains the parameters of the search, the iteration counters,
+ * the elapsed time, the state of the random number generator, the tabu list,
+ * the hashes of the recently visited solutions, and the current solution, the
+ * best solution, the best solution since the last restart and the solutions
+ * in the elite pool.
+ * 
+ * A checkpoint is taken at the end of an iteration, by copying the state of
+ * the search, which takes time proportional to the size of the tabu list. It
+ * is written afterwards, in the following format of big-endian values: the
+ * magic number CHECKPOINT_MAGIC and the version, the number of jobs,
+ * machines and operations of the problem, the parameters, the counters, the
+ * elapsed time, the time to best and the random state, the length, min, max
+ * and lower bound for max of the tabu list followed by its non-zero entries
+ * (i, j, value), the hashes from the oldest to the newest, and finally the
+ * solutions, each in the binary format of BinaryFormat, preceded by its
+ * number of bytes.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class Checkpoint {
+
+	/*********************************
+	 * CONSTRUCTORS
+	 *********************************/
+
+	/**
+	 * Take a checkpoint of a given run of a tabu search, at the end of an
+	 * iteration.
+	 * 
+	 * @param search
+	 *            The tabu search, of which the parameters are stored.
+	 * @param s
+	 *            The current solution.
+	 * @param bestSol
+	 *            The best solution found so far.
+	 * @param periodBest
+	 *            The best solution since the last restart.
+	 * @param k
+	 *            The number of iterations executed so far.
+	 * @param numberOfIterationsOfNoImprovement
+	 * @param t
+	 *            The tabu list.
+	 * @param history
+	 *            The recently visited solutions, or null.
+	 * @param elite
+	 *            The elite pool, or null.
+	 * @param elapsedTime
+	 *            The time since the start of the run, in nanoseconds.
+	 * @param randomState
+	 *            The state of the random number generator.
+	 */
+	Checkpoint(TabuSearch search, Solution s, Solution bestSol,
+			Solution periodBest, int k, int numberOfIterationsOfNoImprovement,
+			TabuList t, HashHistory history, ElitePool elite,
+			long elapsedTime, long randomState) {
+		Problem p = search.getProblem();
+		numberOfJobs = p.getNumberOfJobs();
+		numberOfMachines = p.getNumberOfMachines();
+		numberOfOperations = p.getNumberOfOperations();
+		evaluation = search.getEvaluation();
+		neighborhood = search.getNeighborhood();
+		maxiter = search.getMaxiter();
+		delta = search.getDelta();
+		safetyStop = search.getSafetyStop();
+		historyLength = search.getHistoryLength();
+		eliteSize = search.getEliteSize();
+		timeLimit = search.getTimeLimit() == null ? -1 : search
+				.getTimeLimit().toNanos();
+
+		iteration = k;
+		iterationsOfNoImprovement = numberOfIterationsOfNoImprovement;
+		this.elapsedTime = elapsedTime;
+		timeToBest = search.getTimeToBest();
+		this.randomState = randomState;
+
+		tabuLength = t.getLength();
+		tabuMin = t.getMin();
+		tabuMax = t.getMax();
+		tabuA = t.getA();
+		tabuEntries = getEntries(t.getMatrix());
+		hashes = history == null ? new long[0] : history.toArray();
+
+		// the solutions are not shared with the search, which goes on while
+		// the checkpoint is written
+		int poolSize = elite == null ? 0 : elite.size();
+		sequences = new int[3 + poolSize][][];
+		costs = new int[3 + poolSize];
+		store(0, s);
+		store(1, bestSol);
+		store(2, periodBest);
+		int index = -1;
+		for (int i = 0; i < poolSize; i++) {
+			store(3 + i, elite.get(i));
+			if (elite.get(i) == bestSol)
+				index = i;
+		}
+		bestInElite = index;
+		solutions = null;
+	}
+
+	/**
+	 * Read a checkpoint of a given problem from a given stream.
+	 */
+	private Checkpoint(Problem p, DataInputStream in, String source)
+			throws IOException {
+		if (in.readInt() != CHECKPOINT_MAGIC)
+			throw new InstanceFormatException(source, "invalid magic number");
+		int version = in.readInt();
+		if (version != VERSION)
+			throw new InstanceFormatException(source, "unsupported version "
+					+ version);
+		numberOfJobs = in.readInt();
+		numberOfMachines = in.readInt();
+		numberOfOperations = in.readInt();
+		if (numberOfJobs != p.getNumberOfJobs()
+				|| numberOfMachines != p.getNumberOfMachines()
+				|| numberOfOperations != p.getNumberOfOperations())
+			throw new InstanceFormatException(source, "expected "
+					+ p.getNumberOfJobs() + " jobs, "
+					+ p.getNumberOfMachines() + " machines and "
+					+ p.getNumberOfOperations() + " operations");
+
+		evaluation = readConstant(in, Evaluation.values(), source);
+		neighborhood = readConstant(in, Neighborhood.values(), source);
+		maxiter = in.readInt();
+		delta = in.readInt();
+		safetyStop = in.readInt();
+		historyLength = readCount(in, Integer.MAX_VALUE, source);
+		eliteSize = readCount(in, Integer.MAX_VALUE, source);
+		timeLimit = in.readLong();
+
+		iteration = readCount(in, Integer.MAX_VALUE, source);
+		iterationsOfNoImprovement = readCount(in, Integer.MAX_VALUE, source);
+		elapsedTime = in.readLong();
+		timeToBest = in.readLong();
+		randomState = in.readLong();
+
+		tabuLength = in.readInt();
+		tabuMin = in.readInt();
+		tabuMax = in.readInt();
+		tabuA = in.readInt();
+		long cells = (long) numberOfOperations * numberOfOperations;
+		tabuEntries = new int[3 * readCount(in,
+				(int) Math.min(cells, Integer.MAX_VALUE / 3), source)];
+		for (int i = 0; i < tabuEntries.length; i++) {
+			tabuEntries[i] = in.readInt();
+			if (i % 3 != 2 && (tabuEntries[i] < 0
+					|| tabuEntries[i] >= numberOfOperations))
+				throw new InstanceFormatException(source,
+						"invalid operation " + tabuEntries[i]);
+		}
+		hashes = new long[readCount(in, historyLength, source)];
+		for (int i = 0; i < hashes.length; i++)
+			hashes[i] = in.readLong();
+
+		solutions = new Solution[3 + readCount(in, eliteSize, source)];
+		bestInElite = in.readInt();
+		if (bestInElite < -1 || bestInElite >= solutions.length - 3)
+			throw new InstanceFormatException(source, "invalid index "
+					+ bestInElite);
+		for (int i = 0; i < solutions.length; i++) {
+			byte[] bytes = new byte[readCount(in, Integer.MAX_VALUE, source)];
+			in.readFully(bytes);
+			solutions[i] = new BinaryFormat.SolutionView(
+					ByteBuffer.wrap(bytes), source).toSolution(p);
+		}
+		sequences = null;
+		costs = null;
+	}
+
+	/**
+	 * Read the checkpoint of a given problem, stored in a given file.
+	 * 
+	 * @throws InstanceFormatException
+	 *             If the file does not contain a checkpoint of this version
+	 *             of the given problem.
+	 * @throws IOException
+	 *             If the file cannot be read.
+	 */
+	public static Checkpoint read(Problem p, Path path) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(
+				Files.newInputStream(path), BUFFER_SIZE));
+		try {
+			return new Checkpoint(p, in, path.toString());
+		} catch (EOFException e) {
+			throw new InstanceFormatException(path.toString(),
+					"unexpected end of file");
+		} finally {
+			in.close();
+		}
+	}
+
+	/*********************************
+	 * FORMAT
+	 *********************************/
+
+	/**
+	 * The first int of a stored checkpoint ("JSSK").
+	 */
+	public static final int CHECKPOINT_MAGIC = 0x4A53534B;
+
+	/**
+	 * The version of the format, which is stored after the magic number.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * The size of the buffers used to read and write a checkpoint.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Read the ordinal of one of the given constants.
+	 */
+	private static <E> E readConstant(DataInputStream in, E[] constants,
+			String source) throws IOException {
+		int ordinal = in.readInt();
+		if (ordinal < 0 || ordinal >= constants.length)
+			throw new InstanceFormatException(source, "invalid constant "
+					+ ordinal);
+		return constants[ordinal];
+	}
+
+	/**
+	 * Read a number between 0 and the given maximum.
+	 */
+	private static int readCount(DataInputStream in, int max, String source)
+			throws IOException {
+		int count = in.readInt();
+		if (count < 0 || count > max)
+			throw new InstanceFormatException(source, "invalid number "
+					+ count);
+		return count;
+	}
+
+	/*********************************
+	 * WRITING
+	 *********************************/
+
+	/**
+	 * Store the checkpoint in a given file, replacing its content atomically.
+	 * 
+	 * The checkpoint is first written to a temporary file next to the given
+	 * file, which is forced to the disk and then renamed. The given file
+	 * always contains either the previous or the new checkpoint, even if the
+	 * process dies while writing. If the checkpoint cannot be written, the
+	 * temporary file is deleted.
+	 * 
+	 * @throws IOException
+	 *             If the file cannot be written.
+	 */
+	public void write(Path path) throws IOException {
+		Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+		boolean moved = false;
+		try {
+			FileOutputStream file = new FileOutputStream(temporary.toFile());
+			try {
+				DataOutputStream out = new DataOutputStream(
+						new BufferedOutputStream(file, BUFFER_SIZE));
+				encode(out);
+				out.flush();
+				file.getFD().sync();
+			} finally {
+				file.close();
+			}
+			Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			moved = true;
+		} finally {
+			if (!moved)
+				Files.deleteIfExists(temporary); // no partial file is left
+		}
+	}
+
+	/**
+	 * Write the checkpoint to a given stream.
+	 */
+	private void encode(DataOutputStream out) throws IOException {
+		out.writeInt(CHECKPOINT_MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(numberOfJobs);
+		out.writeInt(numberOfMachines);
+		out.writeInt(numberOfOperations);
+
+		out.writeInt(evaluation.ordinal());
+		out.writeInt(neighborhood.ordinal());
+		out.writeInt(maxiter);
+		out.writeInt(delta);
+		out.writeInt(safetyStop);
+		out.writeInt(historyLength);
+		out.writeInt(eliteSize);
+		out.writeLong(timeLimit);
+
+		out.writeInt(iteration);
+		out.writeInt(iterationsOfNoImprovement);
+		out.writeLong(elapsedTime);
+		out.writeLong(timeToBest);
+		out.writeLong(randomState);
+
+		out.writeInt(tabuLength);
+		out.writeInt(tabuMin);
+		out.writeInt(tabuMax);
+		out.writeInt(tabuA);
+		out.writeInt(tabuEntries.length / 3);
+		for (int value : tabuEntries)
+			out.writeInt(value);
+		out.writeInt(hashes.length);
+		for (long hash : hashes)
+			out.writeLong(hash);
+
+		out.writeInt(sequences.length - 3);
+		out.writeInt(bestInElite);
+		for (int i = 0; i < sequences.length; i++) {
+			ByteBuffer bytes = BinaryFormat.encode(sequences[i], costs[i]);
+			out.writeInt(bytes.remaining());
+			out.write(bytes.array(), 0, bytes.remaining());
+		}
+	}
+
+	/**
+	 * Get the non-zero entries of the matrix of a tabu list, as triples
+	 * (i, j, value).
+	 */
+	private static int[] getEntries(int[][] matrix) {
+		int[] entries = new int[48];
+		int size = 0;
+		for (int i = 0; i < matrix.length; i++)
+			for (int j = 0; j < matrix[i].length; j++)
+				if (matrix[i][j] != 0) {
+					if (size + 3 > entries.length)
+						entries = Arrays.copyOf(entries, 2 * entries.length);
+					entries[size++] = i;
+					entries[size++] = j;
+					entries[size++] = matrix[i][j];
+				}
+		return Arrays.copyOf(entries, size);
+	}
+
+	/**
+	 * Store the machine sequences and the cost of the i-th solution.
+	 */
+	private void store(int i, Solution s) {
+		sequences[i] = s.getMachineSequences();
+		costs[i] = s.getCost();
+	}
+
+	/*********************************
+	 * PROBLEM AND PARAMETERS
+	 *********************************/
+
+	/**
+	 * Variables referencing the size of the problem.
+	 */
+	private final int numberOfJobs, numberOfMachines, numberOfOperations;
+
+	/**
+	 * Variables referencing the parameters of the search. The time limit is
+	 * in nanoseconds, or -1 if there is none.
+	 */
+	private final Evaluation evaluation;
+	private final Neighborhood neighborhood;
+	private final int maxiter, delta, safetyStop, historyLength, eliteSize;
+	private final long timeLimit;
+
+	/**
+	 * Get the time limit of the interrupted run, or null if it has none.
+	 */
+	public Duration getTimeLimit() {
+		return timeLimit < 0 ? null : Duration.ofNanos(timeLimit);
+	}
+
+	/**
+	 * Set the parameters of a given search to those of the interrupted run.
+	 * Whether the neighbors are evaluated in parallel, the listeners, the
+	 * incumbent, the metrics and the checkpoints of the search are not
+	 * changed.
+	 */
+	public void restore(TabuSearch search) {
+		search.setEvaluation(evaluation);
+		search.setNeighborhood(neighborhood);
+		search.setMaxiter(maxiter);
+		search.setDelta(delta);
+		search.setSafetyStop(safetyStop);
+		search.setHistoryLength(historyLength);
+		search.setEliteSize(eliteSize);
+		search.setTimeLimit(getTimeLimit());
+	}
+
+	/*********************************
+	 * STATE OF THE SEARCH
+	 *********************************/
+
+	/**
+	 * Variable referencing the number of iterations executed so far.
+	 */
+	private final int iteration;
+
+	/**
+	 * @return the iteration
+	 */
+	public int getIteration() {
+		return iteration;
+	}
+
+	/**
+	 * Variable referencing the number of iterations without improvement.
+	 */
+	private final int iterationsOfNoImprovement;
+
+	/**
+	 * @return the iterationsOfNoImprovement
+	 */
+	public int getIterationsOfNoImprovement() {
+		return iterationsOfNoImprovement;
+	}
+
+	/**
+	 * Variable referencing the time since the start of the run, in
+	 * nanoseconds.
+	 */
+	private final long elapsedTime;
+
+	/**
+	 * @return the elapsedTime
+	 */
+	public long getElapsedTime() {
+		return elapsedTime;
+	}
+
+	/**
+	 * Variable referencing the time, in nanoseconds since the start of the
+	 * run, at which the best solution was found.
+	 */
+	private final long timeToBest;
+
+	/**
+	 * @return the timeToBest
+	 */
+	public long getTimeToBest() {
+		return timeToBest;
+	}
+
+	/**
+	 * Variable referencing the state of the random number generator.
+	 */
+	private final long randomState;
+
+	/**
+	 * @return the randomState
+	 */
+	public long getRandomState() {
+		return randomState;
+	}
+
+	/**
+	 * Variables referencing the length, min, max and lower bound for max of
+	 * the tabu list, and its non-zero entries as triples (i, j, value).
+	 */
+	private final int tabuLength, tabuMin, tabuMax, tabuA;
+	private final int[] tabuEntries;
+
+	/**
+	 * Get the tabu list of the interrupted run, which chooses its min and max
+	 * with the given random number generator.
+	 */
+	public TabuList getTabuList(Problem p, Random rand) {
+		TabuList t = new TabuList(p, rand, tabuA);
+		int[][] matrix = t.getMatrix();
+		for (int i = 0; i < tabuEntries.length; i += 3)
+			matrix[tabuEntries[i]][tabuEntries[i + 1]] = tabuEntries[i + 2];
+		t.setLength(tabuLength);
+		t.setMin(tabuMin);
+		t.setMax(tabuMax);
+		return t;
+	}
+
+	/**
+	 * Variable referencing the hashes of the recently visited solutions, from
+	 * the oldest to the newest.
+	 */
+	private final long[] hashes;
+
+	/**
+	 * Restore the state of the interrupted run in a given empty history.
+	 */
+	public void restore(HashHistory history) {
+		for (long hash : hashes)
+			history.add(hash);
+	}
+
+	/*********************************
+	 * SOLUTIONS
+	 *********************************/
+
+	/**
+	 * Variables referencing the machine sequences and the costs of the
+	 * solutions of a checkpoint which has been taken: the current solution,
+	 * the best solution, the best solution since the last restart and the
+	 * solutions in the elite pool.
+	 */
+	private final int[][][] sequences;
+	private final int[] costs;
+
+	/**
+	 * Variable referencing the same solutions of a checkpoint which has been
+	 * read.
+	 */
+	private final Solution[] solutions;
+
+	/**
+	 * Variable referencing the index of the best solution in the elite pool,
+	 * or -1 if it is not in the pool.
+	 */
+	private final int bestInElite;
+
+	/**
+	 * Get the current solution of a checkpoint which has been read.
+	 */
+	public Solution getCurrent() {
+		return solutions[0];
+	}
+
+	/**
+	 * Get the best solution of a checkpoint which has been read. If it is in
+	 * the elite pool, it is the same object as the one in the pool.
+	 */
+	public Solution getBest() {
+		return bestInElite < 0 ? solutions[1] : solutions[3 + bestInElite];
+	}
+
+	/**
+	 * Get the best solution since the last restart of a checkpoint which has
+	 * been read.
+	 */
+	public Solution getPeriodBest() {
+		return solutions[2];
+	}
+
+	/**
+	 * Get the solutions in the elite pool of a checkpoint which has been
+	 * read, in the order of the pool.
+	 */
+	public List<Solution> getElite() {
+		return Arrays.asList(solutions).subList(3, solutions.length);
+	}
+
+}
@@ -0,0 +1,43 @@
+package tabusearch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Exception thrown at the end of a run of the tabu search, when a checkpoint
+ * of the run could not be written. The run itself was completed, so the
+ * exception holds its best solution.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class CheckpointException extends UncheckedIOException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Initialize an exception for a checkpoint which could not be written.
+	 * 
+	 * @param cause
+	 *            The exception thrown by writing the checkpoint.
+	 * @param solution
+	 *            The best solution found by the run.
+	 */
+	public CheckpointException(IOException cause, Solution solution) {
+		super("checkpoint not written: " + cause.getMessage(), cause);
+		this.solution = solution;
+	}
+
+	/**
+	 * Variable referencing the best solution found by the run.
+	 */
+	private final transient Solution solution;
+
+	/**
+	 * @return the solution
+	 */
+	public Solution getSolution() {
+		return solution;
+	}
+
+}
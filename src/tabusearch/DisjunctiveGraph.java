@@ -0,0 +1,633 @@
+package tabusearch;
+
+/**
+ * Class representing the disjunctive graph of a solution in a compact form.
+ *
+ * Each node is identified by the id of its operation. For every operation the
+ * graph stores its duration, its immediate predecessor and successor on its
+ * job and its immediate predecessor and successor on its machine in plain int
+ * arrays. The source and the sink are not stored as arcs: every operation may
+ * start at time 0 and every operation is followed by the sink.
+ *
+ * The graph is built once per solution and is used to calculate the longest
+ * path, without creating any objects per node or per arc.
+ *
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class DisjunctiveGraph {
+
+	/*********************************
+	 * CONSTRUCTORS
+	 *********************************/
+
+	/**
+	 * Initialize the disjunctive graph of a given solution.
+	 *
+	 * @param p
+	 *            The JSS instance.
+	 * @param schedule
+	 *            The complete schedule of the solution.
+	 */
+	public DisjunctiveGraph(Problem p, Operation[][] schedule) {
+		int n = p.getNumberOfOperations();
+		duration = new int[n];
+		jobPredecessor = p.getJobPredecessors();
+		jobSuccessor = p.getJobSuccessors();
+		machinePredecessor = new int[n];
+		machineSuccessor = new int[n];
+
+		for (Operation o : p.getV()) {
+			duration[o.getId()] = o.getDuration();
+			machinePredecessor[o.getId()] = NONE;
+			machineSuccessor[o.getId()] = NONE;
+		}
+
+		// the arcs expressing the precedence relationship of the jobs are
+		// shared with the problem
+		lastOperations = new int[p.getNumberOfJobs()];
+		for (int i = 0; i < p.getNumberOfJobs(); i++)
+			lastOperations[i] = p.getA()[i].getLast().getId();
+
+		// arcs expressing the order of the operations on each machine
+		for (int i = 0; i < schedule.length; i++) {
+			for (int j = 0; j < schedule[i].length - 1; j++) {
+				if (schedule[i][j] != null && schedule[i][j + 1] != null) {
+					machineSuccessor[schedule[i][j].getId()] = schedule[i][j + 1]
+							.getId();
+					machinePredecessor[schedule[i][j + 1].getId()] = schedule[i][j]
+							.getId();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Initialize the disjunctive graph, which results from swapping two
+	 * successive operations u and v on the same machine in a given graph.
+	 *
+	 * Only the machine arcs are copied, all other arrays are shared with the
+	 * given graph.
+	 *
+	 * @param g
+	 *            The original graph.
+	 * @param u
+	 *            The operation immediately preceding v on its machine.
+	 * @param v
+	 *            The operation immediately succeeding u on its machine.
+	 */
+	public DisjunctiveGraph(DisjunctiveGraph g, int u, int v) {
+		duration = g.duration;
+		jobPredecessor = g.jobPredecessor;
+		jobSuccessor = g.jobSuccessor;
+		lastOperations = g.lastOperations;
+		machinePredecessor = g.machinePredecessor.clone();
+		machineSuccessor = g.machineSuccessor.clone();
+
+		// PM[u] -> u -> v -> SM[v] becomes PM[u] -> v -> u -> SM[v]
+		int pm = machinePredecessor[u];
+		int sm = machineSuccessor[v];
+		if (pm != NONE)
+			machineSuccessor[pm] = v;
+		if (sm != NONE)
+			machinePredecessor[sm] = u;
+		machinePredecessor[v] = pm;
+		machineSuccessor[v] = u;
+		machinePredecessor[u] = v;
+		machineSuccessor[u] = sm;
+	}
+
+	/*********************************
+	 * NODES AND ARCS
+	 *********************************/
+
+	/**
+	 * Value used in the arrays if there is no predecessor or successor.
+	 */
+	public static final int NONE = -1;
+
+	/**
+	 * Variable referencing the duration of each operation.
+	 */
+	private final int[] duration;
+
+	/**
+	 * @return the duration
+	 */
+	public int[] getDuration() {
+		return duration;
+	}
+
+	/**
+	 * Variable referencing the immediate predecessor of each operation on its
+	 * job.
+	 */
+	private final int[] jobPredecessor;
+
+	/**
+	 * @return the jobPredecessor
+	 */
+	public int[] getJobPredecessor() {
+		return jobPredecessor;
+	}
+
+	/**
+	 * Variable referencing the immediate successor of each operation on its
+	 * job.
+	 */
+	private final int[] jobSuccessor;
+
+	/**
+	 * @return the jobSuccessor
+	 */
+	public int[] getJobSuccessor() {
+		return jobSuccessor;
+	}
+
+	/**
+	 * Variable referencing the immediate predecessor of each operation on its
+	 * machine.
+	 */
+	private final int[] machinePredecessor;
+
+	/**
+	 * @return the machinePredecessor
+	 */
+	public int[] getMachinePredecessor() {
+		return machinePredecessor;
+	}
+
+	/**
+	 * Variable referencing the immediate successor of each operation on its
+	 * machine.
+	 */
+	private final int[] machineSuccessor;
+
+	/**
+	 * @return the machineSuccessor
+	 */
+	public int[] getMachineSuccessor() {
+		return machineSuccessor;
+	}
+
+	/**
+	 * Variable referencing the last operation of every job. These are the
+	 * operations immediately preceding the sink.
+	 */
+	private final int[] lastOperations;
+
+	/**
+	 * @return the lastOperations
+	 */
+	public int[] getLastOperations() {
+		return lastOperations;
+	}
+
+	/**
+	 * Get the number of nodes in the graph, source and sink included.
+	 */
+	public int getNumberOfNodes() {
+		return duration.length;
+	}
+
+	/**
+	 * Get the id of the sink.
+	 */
+	public int getSink() {
+		return getNumberOfNodes() - 1;
+	}
+
+	/*********************************
+	 * TOPOLOGICAL ORDER
+	 *********************************/
+
+	/**
+	 * Get the operations (source and sink excluded) in topological order.
+	 *
+	 * The order is found without recursion (Kahn): an operation is added as
+	 * soon as all its predecessors have been added, which is tracked by a
+	 * counter per operation. Apart from the result, this only needs one int
+	 * array, so the memory used grows linearly with the number of operations
+	 * and the call stack does not grow at all.
+	 *
+	 * @throws IllegalStateException
+	 *             If the graph contains a cycle.
+	 */
+	public int[] topologicalSort() {
+		int[] order = new int[getNumberOfNodes() - 2];
+		int[] remaining = new int[getNumberOfNodes()];
+		int last = 0;
+		for (int o = 1; o < getSink(); o++) {
+			remaining[o] = countPredecessors(o);
+			if (remaining[o] == 0)
+				order[last++] = o;
+		}
+		for (int first = 0; first < last; first++) {
+			int o = order[first];
+			int j = jobSuccessor[o];
+			if (j != NONE && --remaining[j] == 0)
+				order[last++] = j;
+			int m = machineSuccessor[o];
+			if (m != NONE && --remaining[m] == 0)
+				order[last++] = m;
+		}
+		if (last < order.length)
+			throw new IllegalStateException("The schedule contains a cycle.");
+		return order;
+	}
+
+	/**
+	 * Get the number of immediate predecessors of an operation.
+	 */
+	private int countPredecessors(int o) {
+		return (jobPredecessor[o] == NONE ? 0 : 1)
+				+ (machinePredecessor[o] == NONE ? 0 : 1);
+	}
+
+	/*********************************
+	 * LONGEST PATH
+	 *********************************/
+
+	/**
+	 * Calculate the head of every operation, which is the length of the
+	 * longest path from the source to the operation (the operation itself
+	 * excluded). This is the earliest starting time of the operation.
+	 *
+	 * The head of the sink is the length of the longest path of the graph.
+	 *
+	 * @return the heads
+	 * @throws IllegalStateException
+	 *             If the graph contains a cycle.
+	 */
+	public int[] calculateHeads() {
+		return calculateHeads(topologicalSort());
+	}
+
+	/**
+	 * Calculate the head of every operation, given the operations in
+	 * topological order.
+	 *
+	 * @param order
+	 *            The operations in topological order.
+	 * @return the heads
+	 */
+	public int[] calculateHeads(int[] order) {
+		int[] heads = new int[getNumberOfNodes()];
+		for (int o : order)
+			heads[o] = Math.max(end(jobPredecessor[o], heads),
+					end(machinePredecessor[o], heads));
+
+		// the sink follows the last operation of each job
+		for (int l : lastOperations)
+			heads[getSink()] = Math.max(heads[getSink()], end(l, heads));
+		return heads;
+	}
+
+	/**
+	 * Calculate the tail of every operation, which is the length of the
+	 * longest path from the operation to the sink (the operation itself
+	 * excluded).
+	 *
+	 * The head, the duration and the tail of an operation sum up to the length
+	 * of the longest path through this operation.
+	 *
+	 * @return the tails
+	 * @throws IllegalStateException
+	 *             If the graph contains a cycle.
+	 */
+	public int[] calculateTails() {
+		return calculateTails(topologicalSort());
+	}
+
+	/**
+	 * Calculate the tail of every operation, given the operations in
+	 * topological order. The order is traversed backwards, such that the same
+	 * order can be used for the heads and the tails.
+	 *
+	 * @param order
+	 *            The operations in topological order.
+	 * @return the tails
+	 */
+	public int[] calculateTails(int[] order) {
+		int[] tails = new int[getNumberOfNodes()];
+		for (int k = order.length - 1; k >= 0; k--) {
+			int o = order[k];
+			tails[o] = Math.max(queue(jobSuccessor[o], tails),
+					queue(machineSuccessor[o], tails));
+		}
+		return tails;
+	}
+
+	/**
+	 * Get the operations on a longest path, from the first to the last one,
+	 * given the heads of all operations.
+	 *
+	 * Starting from the last operation of the path, we always step back to a
+	 * predecessor which ends exactly at the head of the current operation.
+	 */
+	public int[] getLongestPath(int[] heads) {
+		// find the operation which ends last
+		int o = NONE;
+		for (int l : lastOperations)
+			if (o == NONE && heads[l] + duration[l] == heads[getSink()])
+				o = l;
+
+		int[] reversed = new int[getNumberOfNodes()];
+		int size = 0;
+		while (o != NONE) {
+			reversed[size++] = o;
+			int j = jobPredecessor[o];
+			int m = machinePredecessor[o];
+			if (j != NONE && heads[j] + duration[j] == heads[o])
+				o = j;
+			else if (m != NONE && heads[m] + duration[m] == heads[o])
+				o = m;
+			else
+				o = NONE;
+		}
+
+		int[] path = new int[size];
+		for (int k = 0; k < size; k++)
+			path[k] = reversed[size - 1 - k];
+		return path;
+	}
+
+	/*********************************
+	 * INCREMENTAL LONGEST PATH
+	 *********************************/
+
+	/**
+	 * Calculate the heads of all operations, given the heads of all operations
+	 * in a graph which only differs in the arcs entering a given operation.
+	 *
+	 * Only the heads of the given operation and the operations reachable from
+	 * it will be calculated again, in topological order of this part of the
+	 * graph.
+	 *
+	 * @param heads
+	 *            The heads in the original graph.
+	 * @param start
+	 *            The first operation, of which the head might have changed.
+	 * @return the new heads, or null if the graph contains a cycle
+	 */
+	public int[] updateHeads(int[] heads, int start) {
+		int[] newHeads = heads.clone();
+
+		// mark all operations reachable from start
+		boolean[] affected = new boolean[getNumberOfNodes()];
+		int[] queue = new int[getNumberOfNodes()];
+		int size = collect(start, jobSuccessor, machineSuccessor, affected,
+				queue);
+
+		// count for every marked operation its marked predecessors
+		int[] inDegree = new int[getNumberOfNodes()];
+		for (int k = 0; k < size; k++) {
+			int o = queue[k];
+			if (jobSuccessor[o] != NONE && affected[jobSuccessor[o]])
+				inDegree[jobSuccessor[o]]++;
+			if (machineSuccessor[o] != NONE && affected[machineSuccessor[o]])
+				inDegree[machineSuccessor[o]]++;
+		}
+		if (inDegree[start] != 0)
+			return null;
+
+		// process the marked operations in topological order
+		int first = 0;
+		int last = 0;
+		queue[last++] = start;
+		while (first < last) {
+			int o = queue[first++];
+			newHeads[o] = Math.max(end(jobPredecessor[o], newHeads),
+					end(machinePredecessor[o], newHeads));
+			if (jobSuccessor[o] != NONE && --inDegree[jobSuccessor[o]] == 0)
+				queue[last++] = jobSuccessor[o];
+			if (machineSuccessor[o] != NONE
+					&& --inDegree[machineSuccessor[o]] == 0)
+				queue[last++] = machineSuccessor[o];
+		}
+		if (last < size)
+			return null;
+
+		// the sink follows the last operation of each job
+		newHeads[getSink()] = 0;
+		for (int l : lastOperations)
+			newHeads[getSink()] = Math.max(newHeads[getSink()],
+					newHeads[l] + duration[l]);
+		return newHeads;
+	}
+
+	/**
+	 * Calculate the tails of all operations, given the tails of all operations
+	 * in a graph which only differs in the arcs leaving a given operation.
+	 *
+	 * Only the tails of the given operation and the operations from which it
+	 * can be reached will be calculated again, in reversed topological order
+	 * of this part of the graph.
+	 *
+	 * @param tails
+	 *            The tails in the original graph.
+	 * @param start
+	 *            The last operation, of which the tail might have changed.
+	 * @return the new tails, or null if the graph contains a cycle
+	 */
+	public int[] updateTails(int[] tails, int start) {
+		int[] newTails = tails.clone();
+
+		// mark all operations from which start can be reached
+		boolean[] affected = new boolean[getNumberOfNodes()];
+		int[] queue = new int[getNumberOfNodes()];
+		int size = collect(start, jobPredecessor, machinePredecessor,
+				affected, queue);
+
+		// count for every marked operation its marked successors
+		int[] outDegree = new int[getNumberOfNodes()];
+		for (int k = 0; k < size; k++) {
+			int o = queue[k];
+			if (jobPredecessor[o] != NONE && affected[jobPredecessor[o]])
+				outDegree[jobPredecessor[o]]++;
+			if (machinePredecessor[o] != NONE
+					&& affected[machinePredecessor[o]])
+				outDegree[machinePredecessor[o]]++;
+		}
+		if (outDegree[start] != 0)
+			return null;
+
+		// process the marked operations in reversed topological order
+		int first = 0;
+		int last = 0;
+		queue[last++] = start;
+		while (first < last) {
+			int o = queue[first++];
+			newTails[o] = Math.max(queue(jobSuccessor[o], newTails),
+					queue(machineSuccessor[o], newTails));
+			if (jobPredecessor[o] != NONE && --outDegree[jobPredecessor[o]] == 0)
+				queue[last++] = jobPredecessor[o];
+			if (machinePredecessor[o] != NONE
+					&& --outDegree[machinePredecessor[o]] == 0)
+				queue[last++] = machinePredecessor[o];
+		}
+		if (last < size)
+			return null;
+		return newTails;
+	}
+
+	/**
+	 * Estimate the length of the longest path after swapping two successive
+	 * operations u and v on the same machine, in constant time.
+	 * 
+	 * The estimate is the length of the longest path through u or v after the
+	 * swap (Taillard), given the heads and tails before the swap. It never
+	 * exceeds the exact length of the longest path after the swap.
+	 * 
+	 * @param heads
+	 *            The heads before the swap.
+	 * @param tails
+	 *            The tails before the swap.
+	 * @param u
+	 *            The operation immediately preceding v on its machine.
+	 * @param v
+	 *            The operation immediately succeeding u on its machine.
+	 */
+	public int estimateSwap(int[] heads, int[] tails, int u, int v) {
+		int headV = Math.max(end(jobPredecessor[v], heads),
+				end(machinePredecessor[u], heads));
+		int headU = Math.max(end(jobPredecessor[u], heads), headV
+				+ duration[v]);
+		int tailU = Math.max(queue(jobSuccessor[u], tails),
+				queue(machineSuccessor[v], tails));
+		int tailV = Math.max(queue(jobSuccessor[v], tails), duration[u]
+				+ tailU);
+		return Math.max(headV + duration[v] + tailV, headU + duration[u]
+				+ tailU);
+	}
+
+	/**
+	 * Estimate the length of the longest path after reversing three
+	 * successive operations a, b and c on the same machine, in constant time.
+	 * 
+	 * The estimate is the length of the longest path through a, b or c after
+	 * the reversal, given the heads and tails before the reversal. Just like
+	 * estimateSwap(), it never exceeds the exact length of the longest path
+	 * after the reversal.
+	 * 
+	 * @param heads
+	 *            The heads before the reversal.
+	 * @param tails
+	 *            The tails before the reversal.
+	 * @param a
+	 *            The operation immediately preceding b on its machine.
+	 * @param b
+	 *            The operation immediately preceding c on its machine.
+	 * @param c
+	 *            The operation immediately succeeding b on its machine.
+	 */
+	public int estimateReversal(int[] heads, int[] tails, int a, int b, int c) {
+		// PM[a] -> c -> b -> a -> SM[c]
+		int headC = Math.max(end(jobPredecessor[c], heads),
+				end(machinePredecessor[a], heads));
+		int headB = Math.max(end(jobPredecessor[b], heads), headC
+				+ duration[c]);
+		int headA = Math.max(end(jobPredecessor[a], heads), headB
+				+ duration[b]);
+		int tailA = Math.max(queue(jobSuccessor[a], tails),
+				queue(machineSuccessor[c], tails));
+		int tailB = Math.max(queue(jobSuccessor[b], tails), duration[a]
+				+ tailA);
+		int tailC = Math.max(queue(jobSuccessor[c], tails), duration[b]
+				+ tailB);
+		return Math.max(headC + duration[c] + tailC, Math.max(headB
+				+ duration[b] + tailB, headA + duration[a] + tailA));
+	}
+
+	/**
+	 * Check, in constant time, that swapping two successive operations u and v
+	 * on the same machine cannot create a cycle.
+	 * 
+	 * The swap creates a cycle if there is a path from u to v other than the
+	 * arc between them, which has to leave u through its job successor. Just
+	 * like isReversalAcyclic(), this test never accepts a swap which creates a
+	 * cycle. Swaps of two successive operations on a longest path are always
+	 * accepted.
+	 * 
+	 * @param heads
+	 *            The heads before the swap.
+	 */
+	public boolean isSwapAcyclic(int[] heads, int u, int v) {
+		return !mayReach(heads, jobSuccessor[u], v);
+	}
+
+	/**
+	 * Check, in constant time, that reversing three successive operations a, b
+	 * and c on the same machine cannot create a cycle.
+	 * 
+	 * The reversal creates a cycle if there is a path from a to b or c, or from
+	 * b to c, other than the arcs between these operations on their machine.
+	 * Such a path has to leave a or b through its job successor. A path from
+	 * an operation x to an operation y can only exist if x ends before y
+	 * starts, which is checked using the heads. This test might reject some
+	 * reversals which do not create a cycle, but never accepts one which does.
+	 * 
+	 * @param heads
+	 *            The heads before the reversal.
+	 */
+	public boolean isReversalAcyclic(int[] heads, int a, int b, int c) {
+		return !mayReach(heads, jobSuccessor[a], b)
+				&& !mayReach(heads, jobSuccessor[a], c)
+				&& !mayReach(heads, jobSuccessor[b], c);
+	}
+
+	/**
+	 * Check if there might be a path from operation x to operation y, given
+	 * the heads. If this method returns false, there is certainly no path.
+	 */
+	private boolean mayReach(int[] heads, int x, int y) {
+		if (x == NONE)
+			return false;
+		return x == y || heads[x] + duration[x] <= heads[y];
+	}
+
+	/**
+	 * Mark all operations reachable from a given operation, following the
+	 * given arcs, and store them in the given array.
+	 *
+	 * @return the number of marked operations
+	 */
+	private static int collect(int start, int[] jobArcs, int[] machineArcs,
+			boolean[] marked, int[] found) {
+		int size = 0;
+		int next = 0;
+		marked[start] = true;
+		found[size++] = start;
+		while (next < size) {
+			int o = found[next++];
+			int j = jobArcs[o];
+			if (j != NONE && !marked[j]) {
+				marked[j] = true;
+				found[size++] = j;
+			}
+			int m = machineArcs[o];
+			if (m != NONE && !marked[m]) {
+				marked[m] = true;
+				found[size++] = m;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Get the time at which a given operation ends, given the heads. This is 0
+	 * if there is no operation.
+	 */
+	private int end(int o, int[] heads) {
+		return o == NONE ? 0 : heads[o] + duration[o];
+	}
+
+	/**
+	 * Get the length of the longest path from the start of a given operation
+	 * to the sink, given the tails. This is 0 if there is no operation.
+	 */
+	private int queue(int o, int[] tails) {
+		return o == NONE ? 0 : duration[o] + tails[o];
+	}
+
+}
@@ -0,0 +1,165 @@
+package tabusearch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class representing a bounded pool of good and diverse solutions, found by a
+ * tabu search.
+ * 
+ * A solution is only added if it is not too close to a solution in the pool,
+ * unless it is better than that solution, which it then replaces. If the pool
+ * is full, a new solution replaces the worst solution in the pool, if it is
+ * better.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class ElitePool {
+
+	/*********************************
+	 * CONSTRUCTOR
+	 *********************************/
+
+	/**
+	 * Initialize an empty pool with a given capacity, which only contains
+	 * solutions at the given minimum distance of each other.
+	 * 
+	 * @param capacity
+	 * @param minimumDistance
+	 * @throws IllegalArgumentException
+	 *             If the capacity is not positive.
+	 */
+	public ElitePool(int capacity, int minimumDistance) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		this.capacity = capacity;
+		this.minimumDistance = minimumDistance;
+		solutions = new ArrayList<Solution>(capacity);
+	}
+
+	/**
+	 * Initialize a pool with a given capacity, which contains the given
+	 * solutions in the given order, as they were in another pool with the
+	 * same capacity and minimum distance.
+	 * 
+	 * @param capacity
+	 * @param minimumDistance
+	 * @param solutions
+	 * @throws IllegalArgumentException
+	 *             If the capacity is not positive, or smaller than the number
+	 *             of given solutions.
+	 */
+	public ElitePool(int capacity, int minimumDistance,
+			List<Solution> solutions) {
+		this(capacity, minimumDistance);
+		if (solutions.size() > capacity)
+			throw new IllegalArgumentException("Too many solutions: "
+					+ solutions.size());
+		this.solutions.addAll(solutions);
+	}
+
+	/*********************************
+	 * PARAMETERS
+	 *********************************/
+
+	/**
+	 * Variable referencing the maximum number of solutions in the pool.
+	 */
+	private final int capacity;
+
+	/**
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Variable referencing the minimum distance between two solutions in the
+	 * pool.
+	 */
+	private final int minimumDistance;
+
+	/**
+	 * @return the minimumDistance
+	 */
+	public int getMinimumDistance() {
+		return minimumDistance;
+	}
+
+	/*********************************
+	 * SOLUTIONS
+	 *********************************/
+
+	/**
+	 * Variable referencing the solutions in the pool.
+	 */
+	private final ArrayList<Solution> solutions;
+
+	/**
+	 * Get the number of solutions in the pool.
+	 */
+	public int size() {
+		return solutions.size();
+	}
+
+	/**
+	 * Get the i-th solution in the pool.
+	 */
+	public Solution get(int i) {
+		return solutions.get(i);
+	}
+
+	/**
+	 * Offer a solution to the pool.
+	 * 
+	 * @return true if the solution has been added
+	 */
+	public boolean add(Solution s) {
+		int closest = -1;
+		int closestDistance = Integer.MAX_VALUE;
+		int worst = -1;
+		for (int i = 0; i < solutions.size(); i++) {
+			Solution e = solutions.get(i);
+			int d = getDistance(s, e);
+			if (d < closestDistance) {
+				closest = i;
+				closestDistance = d;
+			}
+			if (worst == -1 || e.getCost() > solutions.get(worst).getCost())
+				worst = i;
+		}
+
+		// a solution close to another one only replaces it if it is better
+		if (closestDistance < getMinimumDistance()) {
+			if (s.getCost() >= solutions.get(closest).getCost())
+				return false;
+			solutions.set(closest, s);
+			return true;
+		}
+		if (solutions.size() < getCapacity()) {
+			solutions.add(s);
+			return true;
+		}
+		if (s.getCost() >= solutions.get(worst).getCost())
+			return false;
+		solutions.set(worst, s);
+		return true;
+	}
+
+	/**
+	 * Get the distance between two solutions of the same problem: the sum
+	 * over all operations of the difference between their positions on their
+	 * machine in both solutions. This is 0 if both schedules are the same.
+	 */
+	public static int getDistance(Solution s1, Solution s2) {
+		int[] positions1 = s1.getMachinePositions();
+		int[] positions2 = s2.getMachinePositions();
+		int distance = 0;
+		for (int i = 0; i < positions1.length; i++)
+			distance += Math.abs(positions1[i] - positions2[i]);
+		return distance;
+	}
+
+}
@@ -0,0 +1,26 @@
+package tabusearch;
+
+/**
+ * Enum representing the way in which the neighbors are evaluated during the
+ * tabu search algorithm.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public enum Evaluation {
+
+	/**
+	 * Ways to evaluate the neighbors.
+	 * 
+	 * If the evaluation is EXACT, the makespan of every neighbor is calculated
+	 * exactly.
+	 * 
+	 * If the evaluation is ESTIMATED, the makespan of every neighbor is
+	 * estimated in constant time, using the heads and tails of the current
+	 * solution. Only the neighbor which is chosen will be evaluated exactly,
+	 * and a tabu neighbor of which the estimate is better than the best
+	 * solution, before the aspiration criterion allows it.
+	 */
+	EXACT, ESTIMATED;
+
+}
@@ -0,0 +1,177 @@
+package tabusearch;
+
+import java.util.Arrays;
+
+/**
+ * Class representing the hashes of the most recently visited solutions of a
+ * tabu search.
+ * 
+ * The hashes are kept in a ring buffer, in the order in which they were added.
+ * They are also kept in a hash table with open addressing (linear probing),
+ * such that it can be checked in constant time whether a hash was seen
+ * recently. When the buffer is full, the oldest hash is forgotten, and it is
+ * removed from the table by shifting the following entries backwards, so no
+ * deleted markers are needed.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class HashHistory {
+
+	/*********************************
+	 * CONSTRUCTOR
+	 *********************************/
+
+	/**
+	 * Initialize an empty history, which remembers the given number of hashes.
+	 * 
+	 * @param length
+	 * @throws IllegalArgumentException
+	 *             If the length is not positive.
+	 */
+	public HashHistory(int length) {
+		if (length <= 0)
+			throw new IllegalArgumentException("Invalid length: " + length);
+		ring = new long[length];
+		int capacity = Integer.highestOneBit(length) * 4; // load at most 1/2
+		keys = new long[capacity];
+		counts = new int[capacity];
+	}
+
+	/*********************************
+	 * HISTORY
+	 *********************************/
+
+	/**
+	 * Variable referencing the remembered hashes, in the order in which they
+	 * were added. The oldest hash is at position next if the buffer is full.
+	 */
+	private final long[] ring;
+
+	/**
+	 * Variables referencing the position of the next hash in the ring buffer
+	 * and the number of remembered hashes.
+	 */
+	private int next = 0, size = 0;
+
+	/**
+	 * Get the number of hashes which are remembered.
+	 */
+	public int getLength() {
+		return ring.length;
+	}
+
+	/**
+	 * Get the number of hashes which are currently remembered.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Remember a hash. If the history is full, the oldest hash is forgotten.
+	 */
+	public void add(long hash) {
+		if (size == ring.length)
+			remove(ring[next]);
+		else
+			size++;
+		ring[next] = hash;
+		next = (next + 1) % ring.length;
+
+		int i = find(hash);
+		keys[i] = hash;
+		counts[i]++;
+	}
+
+	/**
+	 * Check if a hash is remembered.
+	 */
+	public boolean contains(long hash) {
+		return counts[find(hash)] > 0;
+	}
+
+	/**
+	 * Get the remembered hashes, from the oldest to the newest. Adding them
+	 * in this order to an empty history of the same length restores this
+	 * history.
+	 */
+	public long[] toArray() {
+		long[] hashes = new long[size];
+		int first = (next - size + ring.length) % ring.length;
+		for (int i = 0; i < size; i++)
+			hashes[i] = ring[(first + i) % ring.length];
+		return hashes;
+	}
+
+	/**
+	 * Forget all hashes.
+	 */
+	public void clear() {
+		Arrays.fill(counts, 0);
+		next = 0;
+		size = 0;
+	}
+
+	/*********************************
+	 * HASH TABLE
+	 *********************************/
+
+	/**
+	 * Variable referencing the distinct remembered hashes. A slot is empty if
+	 * its count is 0.
+	 */
+	private final long[] keys;
+
+	/**
+	 * Variable referencing the number of times every hash in keys occurs in
+	 * the ring buffer.
+	 */
+	private final int[] counts;
+
+	/**
+	 * Get the slot of a hash in the table: the slot containing it, or the
+	 * empty slot in which it would be placed.
+	 */
+	private int find(long hash) {
+		int i = slot(hash);
+		while (counts[i] > 0 && keys[i] != hash)
+			i = (i + 1) & (keys.length - 1);
+		return i;
+	}
+
+	/**
+	 * Get the preferred slot of a hash in the table.
+	 */
+	private int slot(long hash) {
+		return (int) (hash ^ (hash >>> 32)) & (keys.length - 1);
+	}
+
+	/**
+	 * Forget one occurrence of a remembered hash. If it was the last one, the
+	 * entries following its slot are shifted backwards, so that every entry
+	 * can still be found from its preferred slot.
+	 */
+	private void remove(long hash) {
+		int i = find(hash);
+		if (--counts[i] > 0)
+			return;
+		int mask = keys.length - 1;
+		int j = i;
+		while (true) {
+			j = (j + 1) & mask;
+			if (counts[j] == 0)
+				return;
+			// the entry at j may move to the hole at i, if its preferred slot
+			// is not between the hole and j (cyclically)
+			int k = slot(keys[j]);
+			if (((j - k) & mask) >= ((j - i) & mask)) {
+				keys[i] = keys[j];
+				counts[i] = counts[j];
+				counts[j] = 0;
+				i = j;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+package tabusearch;
+
+/**
+ * Class representing an immutable snapshot of a new best solution, found by a
+ * tabu search.
+ * 
+ * The snapshot only contains plain int arrays: the order of the operations on
+ * every machine and the starting time of every operation. It does not refer
+ * to the solution itself, so it can be kept and read by any thread.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class Improvement {
+
+	/*********************************
+	 * CONSTRUCTOR
+	 *********************************/
+
+	/**
+	 * Initialize a snapshot of a given solution, found in the given iteration
+	 * after the given time.
+	 * 
+	 * @param s
+	 *            The new best solution.
+	 * @param iteration
+	 *            The number of the iteration in which it was found.
+	 * @param elapsedTime
+	 *            The time since the start of the search, in nanoseconds.
+	 */
+	public Improvement(Solution s, int iteration, long elapsedTime) {
+		this.iteration = iteration;
+		this.elapsedTime = elapsedTime;
+		cost = s.getCost();
+		sequences = s.getMachineSequences();
+		startingTimes = s.getHeads().clone();
+	}
+
+	/*********************************
+	 * SEARCH
+	 *********************************/
+
+	/**
+	 * Variable referencing the number of the iteration in which the solution
+	 * was found.
+	 */
+	private final int iteration;
+
+	/**
+	 * @return the iteration
+	 */
+	public int getIteration() {
+		return iteration;
+	}
+
+	/**
+	 * Variable referencing the time since the start of the search at which
+	 * the solution was found, in nanoseconds.
+	 */
+	private final long elapsedTime;
+
+	/**
+	 * @return the elapsedTime
+	 */
+	public long getElapsedTime() {
+		return elapsedTime;
+	}
+
+	/*********************************
+	 * SOLUTION
+	 *********************************/
+
+	/**
+	 * Variable referencing the cost of the solution.
+	 */
+	private final int cost;
+
+	/**
+	 * @return the cost
+	 */
+	public int getCost() {
+		return cost;
+	}
+
+	/**
+	 * Variable referencing the ids of the operations on every machine, in the
+	 * order in which they are processed.
+	 */
+	private final int[][] sequences;
+
+	/**
+	 * Get the number of machines.
+	 */
+	public int getNumberOfMachines() {
+		return sequences.length;
+	}
+
+	/**
+	 * Get the ids of the operations on a given machine, in the order in which
+	 * they are processed. The returned array is a copy.
+	 */
+	public int[] getSequence(int machine) {
+		return sequences[machine].clone();
+	}
+
+	/**
+	 * Get the ids of the operations on every machine, in the order in which
+	 * they are processed. The returned arrays are copies.
+	 */
+	public int[][] getSequences() {
+		int[][] res = new int[sequences.length][];
+		for (int m = 0; m < sequences.length; m++)
+			res[m] = sequences[m].clone();
+		return res;
+	}
+
+	/**
+	 * Variable referencing the starting time of every operation, indexed by
+	 * the id of the operation.
+	 */
+	private final int[] startingTimes;
+
+	/**
+	 * Get the starting time of the operation with a given id.
+	 */
+	public int getStartingTime(int operation) {
+		return startingTimes[operation];
+	}
+
+	/*********************************
+	 * VISUAL REPRESENTATION
+	 *********************************/
+
+	/**
+	 * Get a textual representation of the improvement.
+	 */
+	@Override
+	public String toString() {
+		return "cost " + getCost() + " in iteration " + getIteration()
+				+ " after " + getElapsedTime() / 1000000 + " ms";
+	}
+
+}
@@ -0,0 +1,26 @@
+package tabusearch;
+
+/**
+ * Interface for objects which want to be notified of every new best solution
+ * found by a tabu search, by a move or by path relinking at a restart. A
+ * restart which does not improve the best solution is not notified, although
+ * it starts an EUREKA phase as well.
+ * 
+ * The notifications are delivered by a background thread of the search, in
+ * the order in which the improvements were found. A slow listener delays the
+ * following notifications, but never the search itself.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public interface ImprovementListener {
+
+	/**
+	 * Notify the listener of a new best solution.
+	 * 
+	 * @param improvement
+	 *            An immutable snapshot of the new best solution.
+	 */
+	void improved(Improvement improvement);
+
+}
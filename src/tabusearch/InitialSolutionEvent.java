@@ -0,0 +1,48 @@
+package tabusearch;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event representing the construction of an initial solution
+ * for a tabu search. Its duration is the time taken by the construction.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+@Name("tabusearch.InitialSolution")
+@Label("Initial Solution")
+@Category("Tabu Search")
+@Description("Construction of an initial solution")
+@StackTrace(false)
+public class InitialSolutionEvent extends Event {
+
+	/**
+	 * The algorithm used to construct the solution.
+	 */
+	@Label("Algorithm")
+	public String algorithm;
+
+	/**
+	 * Whether the priority rule made random choices.
+	 */
+	@Label("Randomized")
+	public boolean randomized;
+
+	/**
+	 * The number of operations of the problem.
+	 */
+	@Label("Operations")
+	public int operations;
+
+	/**
+	 * The cost of the constructed solution.
+	 */
+	@Label("Cost")
+	public int cost;
+
+}
@@ -0,0 +1,73 @@
+package tabusearch;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown when a JSS instance cannot be parsed, because its content
+ * does not follow the format of the test instances.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class InstanceFormatException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Initialize an exception for an error on a given line of a given source.
+	 * 
+	 * @param source
+	 *            The name of the file or stream, which is parsed.
+	 * @param line
+	 *            The number of the line (starting from 1) containing the
+	 *            error.
+	 * @param message
+	 *            The description of the error.
+	 */
+	public InstanceFormatException(String source, int line, String message) {
+		super(source + ":" + line + ": " + message);
+		this.source = source;
+		this.line = line;
+	}
+
+	/**
+	 * Initialize an exception for an error in a given source, which is not
+	 * related to a line.
+	 * 
+	 * @param source
+	 *            The name of the file or stream, which is read.
+	 * @param message
+	 *            The description of the error.
+	 */
+	public InstanceFormatException(String source, String message) {
+		super(source + ": " + message);
+		this.source = source;
+		this.line = 0;
+	}
+
+	/**
+	 * Variable referencing the name of the file or stream, which is parsed.
+	 */
+	private final String source;
+
+	/**
+	 * @return the source
+	 */
+	public String getSource() {
+		return source;
+	}
+
+	/**
+	 * Variable referencing the number of the line containing the error, or 0
+	 * if the error is not related to a line.
+	 */
+	private final int line;
+
+	/**
+	 * @return the line
+	 */
+	public int getLine() {
+		return line;
+	}
+
+}
@@ -0,0 +1,271 @@
+package tabusearch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Class used to read the JSS instances in a file or stream one by one, without
+ * keeping the whole input in memory.
+ * 
+ * The input may contain any number of instances, each in one of two formats.
+ * In the format of the test instances, a line with the number of jobs, the
+ * number of machines and optionally the optimal cost is followed by one line
+ * per job with the machine (numbered from 0) and the duration of each of its
+ * operations. In the format of Taillard, a line with the number of jobs, the
+ * number of machines, the time seed, the machine seed, the upper bound and the
+ * lower bound is followed by the line "Times" with the durations of the
+ * operations of every job, and the line "Machines" with their machines
+ * (numbered from 1). The optimal cost of such an instance is known if both
+ * bounds are equal.
+ * 
+ * All other lines before an instance, such as the names and descriptions of
+ * the instances in the OR-library or the column names of Taillard, are
+ * skipped. Text following a # on a line is ignored.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class InstanceReader implements Iterator<Problem>, Closeable {
+
+	/*********************************
+	 * CONSTRUCTORS
+	 *********************************/
+
+	/**
+	 * Initialize a reader for the instances in a given channel, which is
+	 * closed by the reader.
+	 * 
+	 * @param channel
+	 * @param source
+	 *            The name of the file or stream, used in error messages.
+	 */
+	public InstanceReader(ReadableByteChannel channel, String source) {
+		this.channel = channel;
+		parser = new ChannelParser(channel, source);
+	}
+
+	/**
+	 * Initialize a reader for the instances in a given file.
+	 * 
+	 * @param path
+	 * @throws IOException
+	 *             If the file cannot be opened.
+	 */
+	public InstanceReader(Path path) throws IOException {
+		this(FileChannel.open(path, StandardOpenOption.READ), path.toString());
+	}
+
+	/**
+	 * Initialize a reader for the instances in a given file.
+	 * 
+	 * @param filename
+	 * @throws IOException
+	 *             If the file cannot be opened.
+	 */
+	public InstanceReader(String filename) throws IOException {
+		this(Paths.get(filename));
+	}
+
+	/*********************************
+	 * INPUT
+	 *********************************/
+
+	/**
+	 * Variable referencing the channel from which the instances are read.
+	 */
+	private final ReadableByteChannel channel;
+
+	/**
+	 * Variable referencing the parser of the channel.
+	 */
+	private final ChannelParser parser;
+
+	/**
+	 * Close the channel.
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/*********************************
+	 * INSTANCES
+	 *********************************/
+
+	/**
+	 * Variable referencing the next instance, if it has already been read.
+	 */
+	private Problem next = null;
+
+	/**
+	 * Variable referencing the number of instances read so far.
+	 */
+	private int numberOfInstances = 0;
+
+	/**
+	 * @return the numberOfInstances
+	 */
+	public int getNumberOfInstances() {
+		return numberOfInstances;
+	}
+
+	/**
+	 * Read the next instance.
+	 * 
+	 * @return the instance, or null if there are no more instances
+	 * @throws InstanceFormatException
+	 *             If an instance is not valid.
+	 * @throws IOException
+	 *             If the input cannot be read.
+	 */
+	public Problem read() throws IOException {
+		if (next != null) {
+			Problem p = next;
+			next = null;
+			return p;
+		}
+		while (parser.nextLine()) {
+			int[] header = readHeader();
+			if (header == null)
+				continue; // a name or description
+			if (!parser.nextLine())
+				throw parser.error("missing jobs");
+			numberOfInstances++;
+			if (parser.hasInt() && header.length <= 3)
+				return parser.parseJobs(header[0], header[1],
+						header.length == 3 ? header[2] : -1);
+			return parser.parseMatrices(header[0], header[1],
+					header.length == 6 && header[4] == header[5] ? header[4]
+							: -1);
+		}
+		return null;
+	}
+
+	/**
+	 * Read the current line as the header of an instance: 2, 3 or 6
+	 * integers.
+	 * 
+	 * @return the integers, or null if the line is no header
+	 * @throws InstanceFormatException
+	 *             If the line only contains integers, but is no valid header.
+	 */
+	private int[] readHeader() throws IOException {
+		ArrayList<String> words = new ArrayList<String>();
+		while (parser.hasToken()) {
+			String word = parser.readWord();
+			if (!isInteger(word)) {
+				parser.skipLine();
+				return null; // a name or description
+			}
+			words.add(word);
+		}
+		if (words.size() != 2 && words.size() != 3 && words.size() != 6)
+			throw parser.error("invalid header: " + words.size()
+					+ " integers instead of 2, 3 or 6");
+		int[] header = new int[words.size()];
+		for (int i = 0; i < header.length; i++)
+			header[i] = toInt(words.get(i));
+		parser.endLine();
+		return header;
+	}
+
+	/**
+	 * Get the value of an integer word in the header of an instance.
+	 * 
+	 * @throws InstanceFormatException
+	 *             If the value does not fit in an int.
+	 */
+	private int toInt(String word) throws InstanceFormatException {
+		try {
+			long value = Long.parseLong(word);
+			if (value == (int) value)
+				return (int) value;
+		} catch (NumberFormatException e) {
+			// more digits than a long
+		}
+		throw parser.error("integer out of range " + word);
+	}
+
+	/**
+	 * Check if a word is an integer: an optional minus sign followed by
+	 * digits.
+	 */
+	private static boolean isInteger(String word) {
+		int start = word.startsWith("-") ? 1 : 0;
+		if (word.length() == start)
+			return false;
+		for (int i = start; i < word.length(); i++)
+			if (word.charAt(i) < '0' || word.charAt(i) > '9')
+				return false;
+		return true;
+	}
+
+	/**
+	 * Check if there is another instance.
+	 * 
+	 * @throws UncheckedIOException
+	 *             If the next instance cannot be read.
+	 */
+	@Override
+	public boolean hasNext() {
+		if (next == null) {
+			try {
+				next = read();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return next != null;
+	}
+
+	/**
+	 * Get the next instance.
+	 * 
+	 * @throws NoSuchElementException
+	 *             If there are no more instances.
+	 * @throws UncheckedIOException
+	 *             If the next instance cannot be read.
+	 */
+	@Override
+	public Problem next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		Problem p = next;
+		next = null;
+		return p;
+	}
+
+	/**
+	 * Get a sequential stream of the remaining instances. Closing the stream
+	 * closes the reader.
+	 */
+	public Stream<Problem> stream() {
+		Stream<Problem> stream = StreamSupport.stream(Spliterators
+				.spliteratorUnknownSize(this, Spliterator.ORDERED
+						| Spliterator.NONNULL), false);
+		return stream.onClose(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					close();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		});
+	}
+
+}
@@ -0,0 +1,60 @@
+package tabusearch;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event representing one iteration of a tabu search. Its
+ * duration is the time taken by the iteration.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+@Name("tabusearch.Iteration")
+@Label("Tabu Search Iteration")
+@Category("Tabu Search")
+@Description("One iteration of a tabu search")
+@StackTrace(false)
+public class IterationEvent extends Event {
+
+	/**
+	 * The number of the iteration.
+	 */
+	@Label("Iteration")
+	public int iteration;
+
+	/**
+	 * The phase of the search after the iteration.
+	 */
+	@Label("Phase")
+	public String phase;
+
+	/**
+	 * The length of the tabu list after the iteration.
+	 */
+	@Label("Tabu List Length")
+	public int tabuLength;
+
+	/**
+	 * The number of neighbors of the current solution.
+	 */
+	@Label("Neighbors")
+	public int neighbors;
+
+	/**
+	 * The cost of the current solution after the iteration.
+	 */
+	@Label("Current Cost")
+	public int currentCost;
+
+	/**
+	 * The cost of the best solution found so far.
+	 */
+	@Label("Best Cost")
+	public int bestCost;
+
+}
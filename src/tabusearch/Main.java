@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Main class of our project in which we apply tabu search to the Job Shop
@@ -44,6 +45,16 @@ public class Main {
 		System.out.println(s.printSolution());
 	}
 
+	/**
+	 * Tabu search one test instance with a portfolio of concurrent searches.
+	 */
+	public static void portfolioOneTestInstance(String path, int searches)
+			throws InterruptedException, ExecutionException {
+		Problem p = Parser.parseInstance(path);
+		Solution s = new Portfolio(p, searches, System.nanoTime()).solve();
+		System.out.println(s.printSolution());
+	}
+
 	/**
 	 * Generate the content for table 1 in the final report.
 	 * 
@@ -76,10 +87,10 @@ public class Main {
 					long elapsedTimeNano = (System.nanoTime() - startTime); // in
 																			// nanoseconds
 					double elapsedTime = ((double) elapsedTimeNano) / 1E9;
-					float min = Float.min(s.getCost(), s2.getCost());
-					min = Float.min(min, s3.getCost());
-					min = Float.min(min, s4.getCost());
-					min = Float.min(min, s5.getCost());
+					int min = Math.min(s.getCost(), s2.getCost());
+					min = Math.min(min, s3.getCost());
+					min = Math.min(min, s4.getCost());
+					min = Math.min(min, s5.getCost());
 
 					startTime = System.nanoTime();
 					s = TabuSearch.getInitialSolutionOnlyLeft(p);
@@ -90,17 +101,17 @@ public class Main {
 					long elapsedTime2Nano = (System.nanoTime() - startTime); // in
 																				// nanoseconds
 					double elapsedTime2 = ((double) elapsedTime2Nano) / 1E9;
-					float min2 = Float.min(s.getCost(), s2.getCost());
-					min2 = Float.min(min2, s3.getCost());
-					min2 = Float.min(min2, s4.getCost());
-					min2 = Float.min(min2, s5.getCost());
+					int min2 = Math.min(s.getCost(), s2.getCost());
+					min2 = Math.min(min2, s3.getCost());
+					min2 = Math.min(min2, s4.getCost());
+					min2 = Math.min(min2, s5.getCost());
 
 					System.out.println(file.toString().replace(".txt", "")
 							+ " & " + p.getNumberOfJobs() + " & "
 							+ p.getNumberOfMachines() + " & "
-							+ Math.round(p.getOptimalCost()) + " & "
-							+ Math.round(min) + " & " + elapsedTime + " & "
-							+ Math.round(min2) + " & " + elapsedTime2 + "\\\\");
+							+ p.getOptimalCost() + " & " + min + " & "
+							+ elapsedTime + " & " + min2 + " & " + elapsedTime2
+							+ "\\\\");
 				} catch (Exception e) {
 					System.out.println("error");
 
@@ -127,26 +138,26 @@ public class Main {
 			String res = "";
 			for (File file : directoryListing) {
 				try {
-					float best = Integer.MAX_VALUE;
+					int best = Integer.MAX_VALUE;
 					double longestTime = Double.MIN_VALUE;
 					float sumCosts = 0;
 					double sumTimes = 0;
 
 					Problem p = Parser.parseInstance(file.toString());
-					float optimum = p.getOptimalCost();
+					int optimum = p.getOptimalCost();
 					String name = file.toString().replace(".txt", "");
 
 					res = name.replace("testinstances/", "") + " & "
 							+ p.getNumberOfJobs() + " & "
 							+ p.getNumberOfMachines() + " & "
-							+ Math.round(p.getOptimalCost());
+							+ p.getOptimalCost();
 
 					for (int i = 0; i < 5; i++) {
 						long startTime = System.nanoTime();
 						Solution s = TabuSearch.tabuSearch(p);
 						long elapsedTimeNano = (System.nanoTime() - startTime);
 						double elapsedTime = ((double) elapsedTimeNano) / 1E9;
-						float c = s.getCost();
+						int c = s.getCost();
 
 						if (c < best)
 							best = c;
@@ -158,7 +169,7 @@ public class Main {
 
 					}
 
-					res += " & " + Math.round(best);
+					res += " & " + best;
 					if (optimum != -1) {
 						float delta = best - optimum;
 						res += " & " + delta / optimum * 100; // Delta Z %
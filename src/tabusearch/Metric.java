@@ -0,0 +1,102 @@
+package tabusearch;
+
+/**
+ * Enum representing the quantities, which are measured during the tabu search
+ * algorithm.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public enum Metric {
+
+	/**
+	 * The number of iterations.
+	 */
+	ITERATIONS,
+
+	/**
+	 * The number of moves in the neighborhoods of the current solutions.
+	 */
+	NEIGHBORS_GENERATED,
+
+	/**
+	 * The number of moves of which the cost has been calculated or estimated.
+	 */
+	NEIGHBORS_EVALUATED,
+
+	/**
+	 * The number of neighboring solutions which have been built.
+	 */
+	NEIGHBORS_CONSTRUCTED,
+
+	/**
+	 * The time spent generating the moves of the neighborhoods, in
+	 * nanoseconds.
+	 */
+	GENERATION_TIME,
+
+	/**
+	 * The time spent calculating or estimating the cost of the moves, in
+	 * nanoseconds.
+	 */
+	EVALUATION_TIME,
+
+	/**
+	 * The time spent building and evaluating the chosen neighboring
+	 * solutions, in nanoseconds. Choosing the move, including the exact
+	 * evaluation of tabu moves for the aspiration criterion, is not timed.
+	 */
+	CONSTRUCTION_TIME,
+
+	/**
+	 * The time spent updating the tabu list, in nanoseconds.
+	 */
+	TABU_LIST_UPDATE_TIME,
+
+	/**
+	 * The number of evaluated moves which were tabu and not allowed by the
+	 * aspiration criterion, whether or not they would have been chosen
+	 * otherwise.
+	 */
+	TABU_REJECTIONS,
+
+	/**
+	 * The number of tabu moves which have been chosen anyway, because they
+	 * improve the best solution (aspiration criterion).
+	 */
+	ASPIRATION_OVERRIDES,
+
+	/**
+	 * The number of random moves, chosen because all moves were tabu.
+	 */
+	RANDOM_MOVES,
+
+	/**
+	 * The number of restarts from the best solution, after delta iterations
+	 * without improvement.
+	 */
+	RESTARTS,
+
+	/**
+	 * The number of moves which are not evaluated, because they lead to a
+	 * recently visited solution.
+	 */
+	REVISITS_AVOIDED,
+
+	/**
+	 * The number of iterations in which every move leads to a recently visited
+	 * solution, such that a random move is chosen to leave the cycle.
+	 */
+	CYCLES,
+
+	/**
+	 * The number of restarts from a solution found by path relinking.
+	 */
+	PATH_RELINKINGS,
+
+	/**
+	 * The number of swaps made by path relinking.
+	 */
+	PATH_RELINKING_STEPS;
+
+}
@@ -1,5 +1,6 @@
 package tabusearch;
 
+import java.util.Iterator;
 import java.util.LinkedList;
 
 /**
@@ -10,7 +11,7 @@ import java.util.LinkedList;
  * @author Thiebout Dewitte
  * @version 1.0
  */
-public class Move {
+public class Move implements Comparable<Move> {
 
 	/*********************************
 	 * CONSTRUCTOR
@@ -59,6 +60,23 @@ public class Move {
 		return getInversion().size();
 	}
 
+	/**
+	 * Compare this move to a given move, using the ids of the operations in
+	 * their inversions. This gives a fixed order of moves.
+	 */
+	@Override
+	public int compareTo(Move m) {
+		Iterator<Operation> it = m.getInversion().iterator();
+		for (Operation o : getInversion()) {
+			if (!it.hasNext())
+				return 1;
+			int c = Integer.compare(o.getId(), it.next().getId());
+			if (c != 0)
+				return c;
+		}
+		return it.hasNext() ? -1 : 0;
+	}
+
 	/*********************************
 	 * VISUAL REPRESENTATION
 	 *********************************/
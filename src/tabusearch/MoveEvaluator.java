@@ -0,0 +1,225 @@
+package tabusearch;
+
+/**
+ * Class used to calculate the exact cost of a neighboring solution directly
+ * from the original solution and a move, without building the neighboring
+ * solution.
+ *
+ * The move reverses two or three successive operations on the same machine.
+ * It is not applied to any schedule or graph: the arcs around the reversed
+ * operations are redirected while reading the graph of the original solution.
+ * Only the heads of the operations reachable from the reversed operations are
+ * calculated again. All working memory is allocated
+ * once, so an evaluator should not be shared by several threads.
+ *
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class MoveEvaluator {
+
+	/*********************************
+	 * CONSTRUCTOR
+	 *********************************/
+
+	/**
+	 * Initialize an evaluator for the solutions of a given problem.
+	 *
+	 * @param p
+	 *            The JSS instance.
+	 */
+	public MoveEvaluator(Problem p) {
+		int n = p.getNumberOfOperations();
+		mark = new int[n];
+		degree = new int[n];
+		head = new int[n];
+		queue = new int[n];
+	}
+
+	/*********************************
+	 * WORKING MEMORY
+	 *********************************/
+
+	/**
+	 * Variable referencing, for every operation, the number of the evaluation
+	 * in which it has been marked as affected by the move.
+	 */
+	private final int[] mark;
+
+	/**
+	 * Variable referencing the number of the current evaluation.
+	 */
+	private int evaluation = 0;
+
+	/**
+	 * Variable referencing the number of affected predecessors of every
+	 * affected operation, which have not been processed yet.
+	 */
+	private final int[] degree;
+
+	/**
+	 * Variable referencing the new head of every affected operation.
+	 */
+	private final int[] head;
+
+	/**
+	 * Variable referencing the affected operations, in the order in which they
+	 * are found or processed.
+	 */
+	private final int[] queue;
+
+	/*********************************
+	 * REVERSAL
+	 *********************************/
+
+	/**
+	 * Variable referencing the reversed operations, in their order before the
+	 * reversal.
+	 */
+	private final int[] reversed = new int[3];
+
+	/**
+	 * Variable referencing the number of reversed operations.
+	 */
+	private int size;
+
+	/**
+	 * Variables referencing the machine predecessor of the first reversed
+	 * operation and the machine successor of the last reversed operation.
+	 */
+	private int pm, sm;
+
+	/**
+	 * Get the machine successor of an operation after the reversal.
+	 */
+	private int machineSuccessor(DisjunctiveGraph g, int o) {
+		if (o == pm)
+			return reversed[size - 1];
+		if (o == reversed[0])
+			return sm;
+		for (int k = 1; k < size; k++)
+			if (o == reversed[k])
+				return reversed[k - 1];
+		return g.getMachineSuccessor()[o];
+	}
+
+	/**
+	 * Get the machine predecessor of an operation after the reversal.
+	 */
+	private int machinePredecessor(DisjunctiveGraph g, int o) {
+		if (o == sm)
+			return reversed[0];
+		if (o == reversed[size - 1])
+			return pm;
+		for (int k = 0; k < size - 1; k++)
+			if (o == reversed[k])
+				return reversed[k + 1];
+		return g.getMachinePredecessor()[o];
+	}
+
+	/*********************************
+	 * EVALUATION
+	 *********************************/
+
+	/**
+	 * Calculate the exact cost of the solution, which results from applying
+	 * the given move of two or three successive operations on the same
+	 * machine to the given solution. The move must not create a cycle.
+	 *
+	 * @param s
+	 *            The original solution.
+	 * @param m
+	 *            The move to evaluate.
+	 */
+	public int evaluate(Solution s, Move m) {
+		DisjunctiveGraph g = s.getGraph();
+		int[] heads = s.getHeads();
+		int[] duration = g.getDuration();
+		int[] jobPredecessor = g.getJobPredecessor();
+		int[] jobSuccessor = g.getJobSuccessor();
+
+		size = 0;
+		for (Operation o : m.getInversion())
+			reversed[size++] = o.getId();
+		pm = g.getMachinePredecessor()[reversed[0]];
+		sm = g.getMachineSuccessor()[reversed[size - 1]];
+		int start = reversed[size - 1];
+		nextEvaluation();
+
+		// mark all operations reachable from the first operation after the
+		// reversal
+		int found = 0;
+		int next = 0;
+		mark[start] = evaluation;
+		degree[start] = 0;
+		queue[found++] = start;
+		while (next < found) {
+			int o = queue[next++];
+			int j = jobSuccessor[o];
+			int k = machineSuccessor(g, o);
+			if (j != DisjunctiveGraph.NONE) {
+				if (mark[j] != evaluation) {
+					mark[j] = evaluation;
+					degree[j] = 0;
+					queue[found++] = j;
+				}
+				degree[j]++;
+			}
+			if (k != DisjunctiveGraph.NONE) {
+				if (mark[k] != evaluation) {
+					mark[k] = evaluation;
+					degree[k] = 0;
+					queue[found++] = k;
+				}
+				degree[k]++;
+			}
+		}
+
+		// process the marked operations in topological order
+		int first = 0;
+		int last = 0;
+		queue[last++] = start;
+		while (first < last) {
+			int o = queue[first++];
+			head[o] = Math.max(end(jobPredecessor[o], heads, duration),
+					end(machinePredecessor(g, o), heads, duration));
+			int j = jobSuccessor[o];
+			if (j != DisjunctiveGraph.NONE && --degree[j] == 0)
+				queue[last++] = j;
+			int k = machineSuccessor(g, o);
+			if (k != DisjunctiveGraph.NONE && --degree[k] == 0)
+				queue[last++] = k;
+		}
+
+		// the sink follows the last operation of each job
+		int cost = 0;
+		for (int l : g.getLastOperations())
+			cost = Math.max(cost, end(l, heads, duration));
+		return cost;
+	}
+
+	/**
+	 * Get the time at which a given operation ends after the swap. This is 0
+	 * if there is no operation.
+	 */
+	private int end(int o, int[] heads, int[] duration) {
+		if (o == DisjunctiveGraph.NONE)
+			return 0;
+		if (mark[o] == evaluation)
+			return head[o] + duration[o];
+		return heads[o] + duration[o];
+	}
+
+	/**
+	 * Start a new evaluation, such that all marks of the previous evaluations
+	 * are forgotten.
+	 */
+	private void nextEvaluation() {
+		if (evaluation == Integer.MAX_VALUE) {
+			for (int i = 0; i < mark.length; i++)
+				mark[i] = 0;
+			evaluation = 0;
+		}
+		evaluation++;
+	}
+
+}
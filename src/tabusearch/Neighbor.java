@@ -14,15 +14,15 @@ public abstract class Neighbor {
 
 	/**
 	 * Initialize a new neighbor with a given move and a given original
-	 * solution. The new neighboring solution will automatically be initialised.
+	 * solution. The new neighboring solution will only be built, the first
+	 * time it is asked for.
 	 * 
-	 * @param s
-	 * @param t
+	 * @param m
+	 * @param sOriginal
 	 */
 	public Neighbor(Move m, Solution sOriginal) {
 		move = m;
 		originalSolution = sOriginal;
-		makeNeighborSolution();
 	}
 
 	/*********************************
@@ -63,9 +63,14 @@ public abstract class Neighbor {
 	private Solution newSolution = null;
 
 	/**
+	 * Get the neighboring solution. It will be built from the move and
+	 * original solution, if this has not been done before.
+	 * 
 	 * @return the newSolution
 	 */
 	public Solution getNewSolution() {
+		if (newSolution == null)
+			makeNeighborSolution();
 		return newSolution;
 	}
 
@@ -93,21 +98,17 @@ public abstract class Neighbor {
 		Operation o1 = getMove().getInversion().get(0);
 		Operation o2 = getMove().getInversion().get(1);
 
-		// search for position of o1 in schedule
-		int k;
-		for (k = 0; k < newSchedule[machineId].length; k++) {
-			if (newSchedule[machineId][k].equals(o1))
-				break;
-		}
+		// position of o1 in schedule
+		int k = getOriginalSolution().getMachinePosition(o1);
 
 		// swap o1 and o2
 		newSchedule[machineId][k] = o2;
 		newSchedule[machineId][k + 1] = o1;
 
-		// create new built solution
-		Solution newSolution = new Solution(new Problem(getOriginalSolution()
-				.getV(), getOriginalSolution().getA(), getOriginalSolution()
-				.getE(), getOriginalSolution().getOptimalCost()), newSchedule);
+		// create new built solution, only evaluating the part of the graph
+		// which is affected by the swap
+		Solution newSolution = new Solution(getOriginalSolution(),
+				newSchedule, o1, o2);
 		setNewSolution(newSolution);
 	}
 
@@ -0,0 +1,28 @@
+package tabusearch;
+
+/**
+ * Class representing a neighbor of type 5. This is a neighbor from neighborhood
+ * structure N5, in which only the first two or the last two operations of a
+ * critical block are swapped.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class Neighbor5 extends Neighbor {
+
+	/*********************************
+	 * CONSTRUCTOR
+	 *********************************/
+
+	/**
+	 * Initialize a neighbor with a given move and a given original solution to
+	 * which it neighbors.
+	 * 
+	 * @param m
+	 * @param sOriginal
+	 */
+	public Neighbor5(Move m, Solution sOriginal) {
+		super(m, sOriginal);
+	}
+
+}
@@ -4,9 +4,8 @@ package tabusearch;
  * Class representing a neighbor of type A. This is a neighbor from neighborhood
  * structure NA.
  * 
- * IMPORTANT NOTE: 
- * This class might create cycles while making the neighbor solutions. 
- * It should not be used yet in combination with tabu search. 
+ * The moves of this neighborhood, as given by getPossibleInversionsNA(), never
+ * create cycles, so they can be used in combination with tabu search.
  * 
  * @author Thiebout Dewitte
  * @version 1.0
@@ -47,26 +46,21 @@ public class NeighborA extends Neighbor {
 			Operation o2 = getMove().getInversion().get(1);
 			Operation o3 = getMove().getInversion().get(2);
 
-			// search for first position that matches o1, o2 or o3.
-			int k;
-			for (k = 0; k < newSchedule[machineId].length; k++) {
-				if (newSchedule[machineId][k].equals(o1)
-						|| newSchedule[machineId][k].equals(o2)
-						|| newSchedule[machineId][k].equals(o3))
-					break;
-			}
+			// first position of o1, o2 and o3 in schedule
+			Solution original = getOriginalSolution();
+			int k = Math.min(original.getMachinePosition(o1), Math.min(
+					original.getMachinePosition(o2),
+					original.getMachinePosition(o3)));
 
 			// move o1, o2 and o3 in schedule
 			newSchedule[machineId][k] = o3;
 			newSchedule[machineId][k + 1] = o2;
 			newSchedule[machineId][k + 2] = o1;
 
-			// create new built solution
-			Solution newSolution = new Solution(new Problem(
-					getOriginalSolution().getV(), getOriginalSolution().getA(),
-					getOriginalSolution().getE(), getOriginalSolution()
-							.getOptimalCost()), newSchedule);
-			System.out.println(newSolution.printSolution());
+			// create new built solution, which will only be evaluated when
+			// it is needed
+			Solution newSolution = new Solution(original, newSchedule,
+					getMove());
 			setNewSolution(newSolution);
 		}
 	}
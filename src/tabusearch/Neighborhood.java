@@ -0,0 +1,28 @@
+package tabusearch;
+
+/**
+ * Enum representing the neighborhood structure, which is explored in every
+ * iteration of the tabu search algorithm.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public enum Neighborhood {
+
+	/**
+	 * Neighborhood structures.
+	 * 
+	 * If the neighborhood is N1, every two successive operations on the same
+	 * machine on the longest path may be swapped.
+	 * 
+	 * If the neighborhood is N5, only the first two and the last two operations
+	 * of every critical block may be swapped. This neighborhood is much
+	 * smaller than N1, such that every iteration takes less time.
+	 * 
+	 * If the neighborhood is NA, every move of N1 is considered, as well as the
+	 * reversal of every three successive operations on the same machine on
+	 * the longest path, if it does not create a cycle.
+	 */
+	N1, N5, NA;
+
+}
@@ -3,9 +3,11 @@ package tabusearch;
 import java.io.BufferedReader;
 import java.io.DataInputStream;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.stream.Stream;
 
 /**
  * Class representing a parser for a JSS instance.
@@ -102,6 +104,20 @@ public class Parser {
 		return p;
 	}
 
+	/**
+	 * Get a stream of all instances in a given file, which may contain
+	 * several instances in the format of the test instances or of Taillard
+	 * (see InstanceReader). The instances are read one by one, when they are
+	 * needed, and the stream must be closed afterwards.
+	 * 
+	 * @throws IOException
+	 *             If the file cannot be opened.
+	 */
+	public static Stream<Problem> streamInstances(String filename)
+			throws IOException {
+		return new InstanceReader(filename).stream();
+	}
+
 	/**
 	 * Check if the first string of an array of strings is empty. If so, remove
 	 * the empty first string and move the other strings one step forward.
@@ -0,0 +1,159 @@
+package tabusearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Class used to find new solutions on the path between two solutions of the
+ * same problem.
+ * 
+ * The path starts at the initiating solution. In every step, two successive
+ * operations on a machine, which are processed in the other order in the
+ * guiding solution, are swapped. Swaps of operations on a longest path (moves
+ * of type N1) are preferred: the one leading to the lowest cost is chosen,
+ * evaluated without building the neighbors. If there is no such swap, a random
+ * swap elsewhere, which cannot create a cycle, is chosen. Every step brings
+ * the schedule one pair of operations closer to the guiding schedule.
+ * 
+ * The path is followed halfway, and the best solution found on it is
+ * returned.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class PathRelinking {
+
+	/*********************************
+	 * CONSTRUCTOR
+	 *********************************/
+
+	/**
+	 * Initialize a path relinking for the solutions of a given problem, which
+	 * makes its random choices with the given random number generator.
+	 * 
+	 * @param p
+	 * @param rand
+	 */
+	public PathRelinking(Problem p, Random rand) {
+		evaluator = new MoveEvaluator(p);
+		random = rand;
+	}
+
+	/*********************************
+	 * PARAMETERS
+	 *********************************/
+
+	/**
+	 * Variable referencing the evaluator of the swaps.
+	 */
+	private final MoveEvaluator evaluator;
+
+	/**
+	 * Variable referencing the random number generator.
+	 */
+	private final Random random;
+
+	/**
+	 * Variable referencing the number of swaps made so far.
+	 */
+	private int numberOfSteps = 0;
+
+	/**
+	 * @return the numberOfSteps
+	 */
+	public int getNumberOfSteps() {
+		return numberOfSteps;
+	}
+
+	/*********************************
+	 * RELINKING
+	 *********************************/
+
+	/**
+	 * Get the best solution on the first half of the path from a given
+	 * initiating solution to a given guiding solution. The initiating solution
+	 * is returned if the path has no solutions in between.
+	 */
+	public Solution relink(Solution initiating, Solution guiding) {
+		int[] target = guiding.getMachinePositions();
+		int steps = countSwaps(initiating, target) / 2;
+
+		Solution s = initiating;
+		Solution best = null;
+		for (int k = 0; k < steps; k++) {
+			Move m = chooseMove(s, target);
+			if (m == null)
+				break; // every remaining swap might create a cycle
+			s = new Neighbor1(m, s).getNewSolution();
+			numberOfSteps++;
+			if (best == null || s.getCost() < best.getCost())
+				best = s;
+		}
+		return best == null ? initiating : best;
+	}
+
+	/**
+	 * Choose the next swap on the path from a given solution to the solution
+	 * with the given positions on the machines, or null if there is none.
+	 */
+	private Move chooseMove(Solution s, int[] target) {
+		// the best critical swap towards the target
+		Move[] moves = s.getPossibleInversionsN1().toArray(new Move[0]);
+		Arrays.sort(moves);
+		Move best = null;
+		int bestCost = Integer.MAX_VALUE;
+		for (Move m : moves) {
+			if (isTowards(m, target)) {
+				int cost = evaluator.evaluate(s, m);
+				if (cost < bestCost) {
+					best = m;
+					bestCost = cost;
+				}
+			}
+		}
+		if (best != null)
+			return best;
+
+		// a random swap towards the target elsewhere
+		DisjunctiveGraph g = s.getGraph();
+		int[] heads = s.getHeads();
+		ArrayList<Move> candidates = new ArrayList<Move>();
+		for (int[] sequence : s.getMachineSequences()) {
+			for (int k = 0; k + 1 < sequence.length; k++) {
+				int u = sequence[k];
+				int v = sequence[k + 1];
+				if (target[u] > target[v] && g.isSwapAcyclic(heads, u, v))
+					candidates.add(new Move(s.getV().get(u), s.getV().get(v)));
+			}
+		}
+		if (candidates.isEmpty())
+			return null;
+		return candidates.get(random.nextInt(candidates.size()));
+	}
+
+	/**
+	 * Check if a given swap brings the operations in the order of the target.
+	 */
+	private static boolean isTowards(Move m, int[] target) {
+		return target[m.getInversion().get(0).getId()] > target[m
+				.getInversion().get(1).getId()];
+	}
+
+	/**
+	 * Get the number of pairs of operations on the same machine, which are
+	 * processed in another order in a given solution than in the solution with
+	 * the given positions on the machines. This is the number of swaps on the
+	 * path between both solutions.
+	 */
+	private static int countSwaps(Solution s, int[] target) {
+		int distance = 0;
+		for (int[] sequence : s.getMachineSequences())
+			for (int i = 0; i < sequence.length; i++)
+				for (int j = i + 1; j < sequence.length; j++)
+					if (target[sequence[i]] > target[sequence[j]])
+						distance++;
+		return distance;
+	}
+
+}
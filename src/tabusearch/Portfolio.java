@@ -0,0 +1,242 @@
+package tabusearch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class representing a portfolio of independent tabu searches, which run
+ * concurrently on the same JSS instance.
+ * 
+ * Every search has its own seed and initial solution. The first search starts
+ * from the bidirectional initial solution, the other ones from a semi greedy
+ * initial solution. All searches share the best cost found so far, such that
+ * they all stop as soon as one of them reaches the optimal cost or the lower
+ * bound of the problem.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class Portfolio {
+
+	/*********************************
+	 * CONSTRUCTORS
+	 *********************************/
+
+	/**
+	 * Initialize a portfolio of a given number of searches for a given
+	 * problem. The seed of the i-th search is the given seed plus i.
+	 * 
+	 * @param p
+	 *            The JSS instance.
+	 * @param numberOfSearches
+	 *            The number of searches.
+	 * @param seed
+	 *            The seed of the first search.
+	 * @param evaluation
+	 *            The way in which the neighbors are evaluated.
+	 */
+	public Portfolio(Problem p, int numberOfSearches, long seed,
+			Evaluation evaluation) {
+		if (numberOfSearches < 1)
+			throw new IllegalArgumentException(
+					"A portfolio needs at least one search.");
+		problem = p;
+		this.numberOfSearches = numberOfSearches;
+		this.seed = seed;
+		this.evaluation = evaluation;
+	}
+
+	/**
+	 * Initialize a portfolio of a given number of searches for a given
+	 * problem, which evaluate their neighbors exactly.
+	 */
+	public Portfolio(Problem p, int numberOfSearches, long seed) {
+		this(p, numberOfSearches, seed, Evaluation.EXACT);
+	}
+
+	/*********************************
+	 * PARAMETERS
+	 *********************************/
+
+	/**
+	 * Variable referencing the JSS instance.
+	 */
+	private final Problem problem;
+
+	/**
+	 * @return the problem
+	 */
+	public Problem getProblem() {
+		return problem;
+	}
+
+	/**
+	 * Variable referencing the number of searches.
+	 */
+	private final int numberOfSearches;
+
+	/**
+	 * @return the numberOfSearches
+	 */
+	public int getNumberOfSearches() {
+		return numberOfSearches;
+	}
+
+	/**
+	 * Variable referencing the seed of the first search.
+	 */
+	private final long seed;
+
+	/**
+	 * @return the seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Variable referencing the way in which the neighbors are evaluated.
+	 */
+	private final Evaluation evaluation;
+
+	/**
+	 * @return the evaluation
+	 */
+	public Evaluation getEvaluation() {
+		return evaluation;
+	}
+
+	/**
+	 * Variable referencing the neighborhood structure of all searches.
+	 */
+	private Neighborhood neighborhood = Neighborhood.N1;
+
+	/**
+	 * @return the neighborhood
+	 */
+	public Neighborhood getNeighborhood() {
+		return neighborhood;
+	}
+
+	/**
+	 * @param neighborhood
+	 *            the neighborhood to set
+	 */
+	public void setNeighborhood(Neighborhood neighborhood) {
+		this.neighborhood = neighborhood;
+	}
+
+	/*********************************
+	 * SEARCH
+	 *********************************/
+
+	/**
+	 * Variable referencing the best cost found so far by all searches.
+	 */
+	private final AtomicInteger incumbent = new AtomicInteger(
+			Integer.MAX_VALUE);
+
+	/**
+	 * Get the best cost found so far by all searches.
+	 */
+	public int getIncumbent() {
+		return incumbent.get();
+	}
+
+	/**
+	 * Variable referencing the metrics of all searches together.
+	 */
+	private final SearchMetrics metrics = new SearchMetrics();
+
+	/**
+	 * @return the metrics
+	 */
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Run all searches concurrently, using at most one thread per available
+	 * processor, and return the best solution found by any of them.
+	 * 
+	 * @throws InterruptedException
+	 *             If the calling thread is interrupted while waiting.
+	 * @throws ExecutionException
+	 *             If one of the searches failed.
+	 */
+	public Solution solve() throws InterruptedException, ExecutionException {
+		return solve(null);
+	}
+
+	/**
+	 * Run all searches concurrently, using at most one thread per available
+	 * processor, and return the best solution found by any of them within the
+	 * given time. Searches which have to wait for a free thread only get the
+	 * remaining time.
+	 * 
+	 * @param timeLimit
+	 *            The maximum time of all searches together, or null to use
+	 *            the stopping rules of the searches.
+	 * @throws InterruptedException
+	 *             If the calling thread is interrupted while waiting.
+	 * @throws ExecutionException
+	 *             If one of the searches failed.
+	 */
+	public Solution solve(Duration timeLimit) throws InterruptedException,
+			ExecutionException {
+		long deadline = timeLimit == null ? 0 : System.nanoTime()
+				+ timeLimit.toNanos();
+		int threads = Math.min(getNumberOfSearches(), Runtime.getRuntime()
+				.availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Solution>> futures = new ArrayList<Future<Solution>>();
+			for (int i = 0; i < getNumberOfSearches(); i++)
+				futures.add(executor.submit(search(i, timeLimit != null,
+						deadline)));
+
+			Solution best = null;
+			for (Future<Solution> f : futures) {
+				Solution s = f.get();
+				if (best == null || s.getCost() < best.getCost())
+					best = s;
+			}
+			return best;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Get the i-th search of the portfolio, which has to stop at the given
+	 * deadline (a value of System.nanoTime()) if timeLimited is true.
+	 */
+	private Callable<Solution> search(final int i, final boolean timeLimited,
+			final long deadline) {
+		return new Callable<Solution>() {
+			@Override
+			public Solution call() {
+				TabuSearch ts = new TabuSearch(getProblem(), getSeed() + i);
+				ts.setEvaluation(getEvaluation());
+				ts.setNeighborhood(getNeighborhood());
+				ts.setIncumbent(incumbent);
+				ts.setMetrics(metrics);
+				Solution initial = i == 0 ? TabuSearch
+						.getInitialSolution(getProblem()) : TabuSearch
+						.getInitialSolution(getProblem(), ts.getRandom());
+				if (timeLimited)
+					ts.setTimeLimit(Duration.ofNanos(Math.max(0, deadline
+							- System.nanoTime())));
+				return ts.search(initial);
+			}
+		};
+	}
+
+}
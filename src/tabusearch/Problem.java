@@ -28,11 +28,26 @@ public class Problem {
 	 * @param optSol
 	 */
 	public Problem(ArrayList<Operation> V, LinkedList<Operation>[] A,
-			LinkedList<Operation>[] E, float optSol) {
+			LinkedList<Operation>[] E, int optSol) {
 		v = V;
 		a = A;
 		e = E;
 		optimalCost = optSol;
+
+		jobSuccessors = new int[V.size()];
+		jobPredecessors = new int[V.size()];
+		Arrays.fill(jobSuccessors, DisjunctiveGraph.NONE);
+		Arrays.fill(jobPredecessors, DisjunctiveGraph.NONE);
+		for (LinkedList<Operation> list : A) {
+			Operation prev = null;
+			for (Operation o : list) {
+				if (prev != null) {
+					jobSuccessors[prev.getId()] = o.getId();
+					jobPredecessors[o.getId()] = prev.getId();
+				}
+				prev = o;
+			}
+		}
 	}
 
 	/**
@@ -47,6 +62,23 @@ public class Problem {
 		this(V, A, E, -1);
 	}
 
+	/**
+	 * Initialize a JSS problem, which is exactly the same as a given problem.
+	 * 
+	 * All data of the given problem is shared, such that nothing has to be
+	 * built again.
+	 * 
+	 * @param p
+	 */
+	protected Problem(Problem p) {
+		v = p.v;
+		a = p.a;
+		e = p.e;
+		optimalCost = p.optimalCost;
+		jobSuccessors = p.jobSuccessors;
+		jobPredecessors = p.jobPredecessors;
+	}
+
 	/************************************
 	 * OPERATIONS
 	 ************************************/
@@ -145,26 +177,58 @@ public class Problem {
 		return null;
 	}
 
+	/**
+	 * Variable referencing the id of the immediate successor of every
+	 * operation on its job, indexed by the id of the operation.
+	 */
+	private final int[] jobSuccessors;
+
+	/**
+	 * @return the jobSuccessors
+	 */
+	public int[] getJobSuccessors() {
+		return jobSuccessors;
+	}
+
+	/**
+	 * Variable referencing the id of the immediate predecessor of every
+	 * operation on its job, indexed by the id of the operation.
+	 */
+	private final int[] jobPredecessors;
+
+	/**
+	 * @return the jobPredecessors
+	 */
+	public int[] getJobPredecessors() {
+		return jobPredecessors;
+	}
+
 	/**
 	 * Get the immediate successor of an operation, on the job of the given
 	 * operation.
+	 * 
+	 * Note that this method will return a null value, if there is no successor.
 	 */
 	public Operation getSJOfOperation(Operation i) {
-		Iterator<Operation> it = getA()[i.getJob().getId()].iterator();
-		return getSuccessor(it, i);
+		return getOperation(jobSuccessors[i.getId()]);
 	}
 
 	/**
 	 * Get the immediate predecessor of an operation, on the job of the given
 	 * operation.
+	 * 
+	 * Note that this method will return a null value, if there is no
+	 * predecessor.
 	 */
 	public Operation getPJOfOperation(Operation i) {
-		try {
-			Iterator<Operation> it = getA()[i.getJob().getId()].iterator();
-			return getPredecessor(it, i);
-		} catch (Exception e) {
-			return null;
-		}
+		return getOperation(jobPredecessors[i.getId()]);
+	}
+
+	/**
+	 * Get the operation with a given id, or a null value if the id is NONE.
+	 */
+	protected Operation getOperation(int id) {
+		return id == DisjunctiveGraph.NONE ? null : getV().get(id);
 	}
 
 	/************************************
@@ -211,15 +275,38 @@ public class Problem {
 	/**
 	 * Variable referencing the optimal cost of a solution.
 	 */
-	private final float optimalCost;
+	private final int optimalCost;
 
 	/**
 	 * Get the optimal cost of a JSS problem.
 	 */
-	public float getOptimalCost() {
+	public int getOptimalCost() {
 		return optimalCost;
 	}
 
+	/**
+	 * Get a lower bound for the cost of every solution of the JSS problem.
+	 * 
+	 * No solution can end before the total duration of any job, nor before the
+	 * total duration of the operations on any machine.
+	 */
+	public int getLowerBound() {
+		int bound = 0;
+		for (LinkedList<Operation> l : getA()) {
+			int sum = 0;
+			for (Operation o : l)
+				sum += o.getDuration();
+			bound = Math.max(bound, sum);
+		}
+		for (LinkedList<Operation> l : getE()) {
+			int sum = 0;
+			for (Operation o : l)
+				sum += o.getDuration();
+			bound = Math.max(bound, sum);
+		}
+		return bound;
+	}
+
 	/************************************
 	 * VISUAL REPRESENTATION
 	 ************************************/
@@ -0,0 +1,49 @@
+package tabusearch;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event representing a restart of a tabu search from the best
+ * solution found so far. Its duration is the time without improvement, which
+ * led to the restart.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+@Name("tabusearch.Restart")
+@Label("Tabu Search Restart")
+@Category("Tabu Search")
+@Description("Restart from the best solution after too many iterations without improvement")
+@StackTrace(false)
+public class RestartEvent extends Event {
+
+	/**
+	 * The number of the iteration in which the search restarted.
+	 */
+	@Label("Iteration")
+	public int iteration;
+
+	/**
+	 * The number of iterations without improvement before the restart.
+	 */
+	@Label("Iterations Without Improvement")
+	public int iterationsWithoutImprovement;
+
+	/**
+	 * The cost of the solution which is abandoned.
+	 */
+	@Label("Abandoned Cost")
+	public int abandonedCost;
+
+	/**
+	 * The cost of the best solution, from which the search restarts.
+	 */
+	@Label("Best Cost")
+	public int bestCost;
+
+}
@@ -0,0 +1,134 @@
+package tabusearch;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class used to count and time the work done by one or more tabu searches.
+ * 
+ * Every metric is kept in a LongAdder, which is striped over the threads
+ * updating it, such that several searches can share the same metrics without
+ * contention. The metrics can be read at any time, also while the searches
+ * are running, by taking a snapshot.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class SearchMetrics {
+
+	/*********************************
+	 * CONSTRUCTOR
+	 *********************************/
+
+	/**
+	 * Initialize metrics, which are all zero.
+	 */
+	public SearchMetrics() {
+		adders = new LongAdder[Metric.values().length];
+		for (int i = 0; i < adders.length; i++)
+			adders[i] = new LongAdder();
+	}
+
+	/*********************************
+	 * METRICS
+	 *********************************/
+
+	/**
+	 * Variable referencing the value of every metric, indexed by its ordinal.
+	 */
+	private final LongAdder[] adders;
+
+	/**
+	 * Add a given value to a given metric.
+	 */
+	public void add(Metric m, long value) {
+		adders[m.ordinal()].add(value);
+	}
+
+	/**
+	 * Add given values, indexed by the ordinal of the metric, to all metrics,
+	 * and set the values to zero. A search counts the metrics of an iteration
+	 * in such an array, which is added once per iteration.
+	 */
+	public void add(long[] values) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != 0) {
+				adders[i].add(values[i]);
+				values[i] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Add one to a given metric.
+	 */
+	public void increment(Metric m) {
+		adders[m.ordinal()].increment();
+	}
+
+	/**
+	 * Set all metrics to zero.
+	 */
+	public void reset() {
+		for (LongAdder a : adders)
+			a.reset();
+	}
+
+	/**
+	 * Get a snapshot of the current value of all metrics.
+	 */
+	public Snapshot snapshot() {
+		long[] values = new long[adders.length];
+		for (int i = 0; i < values.length; i++)
+			values[i] = adders[i].sum();
+		return new Snapshot(values);
+	}
+
+	/*********************************
+	 * SNAPSHOT
+	 *********************************/
+
+	/**
+	 * Class representing the values of all metrics at some point in time. A
+	 * snapshot never changes.
+	 */
+	public static class Snapshot {
+
+		/**
+		 * Initialize a snapshot with the given values, indexed by the ordinal
+		 * of the metric.
+		 */
+		private Snapshot(long[] values) {
+			this.values = values;
+		}
+
+		/**
+		 * Variable referencing the value of every metric.
+		 */
+		private final long[] values;
+
+		/**
+		 * Get the value of a given metric.
+		 */
+		public long get(Metric m) {
+			return values[m.ordinal()];
+		}
+
+		/**
+		 * Get a textual representation of all metrics, one per line. Times
+		 * are shown in milliseconds.
+		 */
+		@Override
+		public String toString() {
+			String res = "";
+			for (Metric m : Metric.values()) {
+				if (m.name().endsWith("_TIME"))
+					res += m + ": " + get(m) / 1000000 + " ms\n";
+				else
+					res += m + ": " + get(m) + "\n";
+			}
+			return res;
+		}
+
+	}
+
+}
@@ -0,0 +1,103 @@
+package tabusearch;
+
+import java.util.Random;
+
+/**
+ * Class representing the random number generator of a tabu search, of which
+ * the state can be saved and restored, such that an interrupted search can be
+ * continued with exactly the same random choices.
+ * 
+ * The generator is the linear congruential generator of java.util.Random, so
+ * it produces exactly the same numbers as a java.util.Random with the same
+ * seed. Only the state of nextGaussian() is not saved.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class SearchRandom extends Random {
+
+	/*********************************
+	 * CONSTRUCTORS
+	 *********************************/
+
+	/**
+	 * Initialize a generator with a given seed.
+	 */
+	public SearchRandom(long seed) {
+		super(seed); // calls setSeed()
+	}
+
+	/**
+	 * Initialize a generator with a random seed.
+	 */
+	public SearchRandom() {
+		super(); // calls setSeed()
+	}
+
+	/*********************************
+	 * STATE
+	 *********************************/
+
+	/**
+	 * Variable referencing the 48 bits of the state of the generator.
+	 * 
+	 * It has no initializer, because it is already set by the constructor of
+	 * Random.
+	 */
+	private long state;
+
+	/**
+	 * @return the state
+	 */
+	public synchronized long getState() {
+		return state;
+	}
+
+	/**
+	 * @param state
+	 *            the state to set, as returned by getState()
+	 */
+	public synchronized void setState(long state) {
+		this.state = state & MASK;
+	}
+
+	/**
+	 * Set the seed of the generator, as in java.util.Random.
+	 */
+	@Override
+	public synchronized void setSeed(long seed) {
+		super.setSeed(seed);
+		state = (seed ^ MULTIPLIER) & MASK;
+	}
+
+	/**
+	 * Generate the next random bits, as in java.util.Random.
+	 */
+	@Override
+	protected synchronized int next(int bits) {
+		state = (state * MULTIPLIER + ADDEND) & MASK;
+		return (int) (state >>> (48 - bits));
+	}
+
+	/*********************************
+	 * CONSTANTS
+	 *********************************/
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The multiplier of the generator.
+	 */
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+
+	/**
+	 * The increment of the generator.
+	 */
+	private static final long ADDEND = 0xBL;
+
+	/**
+	 * The mask of the 48 bits of the state.
+	 */
+	private static final long MASK = (1L << 48) - 1;
+
+}
@@ -0,0 +1,254 @@
+package tabusearch;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class used to check properties of the solver, which cannot be seen from the
+ * solutions it returns alone.
+ * 
+ * Every check prints what it finds to the console and returns whether it
+ * succeeds. The main method runs all checks.
+ * 
+ * @author Thiebout Dewitte
+ * @version 1.0
+ */
+public class SelfCheck {
+
+	/*********************************
+	 * CHECKS
+	 *********************************/
+
+	/**
+	 * Check that tabu searches running concurrently in the same JVM do not
+	 * influence each other.
+	 * 
+	 * The given number of searches, each with its own seed, are run one after
+	 * the other and then all at the same time. For every seed, both runs must
+	 * visit solutions with the same cost in every iteration and find the same
+	 * solution.
+	 * 
+	 * @return True if and only if all trajectories are identical.
+	 */
+	public static boolean checkConcurrentSearches(String path, int searches)
+			throws InterruptedException, ExecutionException {
+		final Problem p = Parser.parseInstance(path);
+
+		String[] sequential = new String[searches];
+		for (int i = 0; i < searches; i++) {
+			sequential[i] = runSeededSearch(p, i);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(searches);
+		List<Future<String>> concurrent = new ArrayList<Future<String>>();
+		for (int i = 0; i < searches; i++) {
+			final long seed = i;
+			concurrent.add(executor.submit(new Callable<String>() {
+				@Override
+				public String call() {
+					return runSeededSearch(p, seed);
+				}
+			}));
+		}
+
+		boolean identical = true;
+		try {
+			for (int i = 0; i < searches; i++) {
+				if (!sequential[i].equals(concurrent.get(i).get())) {
+					System.out.println("Seed " + i + " differs.");
+					identical = false;
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+		System.out.println(identical ? "All trajectories are identical."
+				: "Trajectories differ.");
+		return identical;
+	}
+
+	/**
+	 * Run a tabu search with a given seed and describe its trajectory by the
+	 * cost of the current solution after every iteration and the solution
+	 * found.
+	 */
+	private static String runSeededSearch(Problem p, long seed) {
+		TabuSearch ts = new TabuSearch(p, seed);
+		ts.setTraced(true);
+		Solution s = ts.search();
+		return Arrays.toString(ts.getTrajectory()) + "\n" + s.printSolution();
+	}
+
+	/**
+	 * Check that an instance of Taillard with real seeds of ten digits, which
+	 * still fit in an int, is read, and that a line of integers which is no
+	 * valid header is reported instead of skipped.
+	 * 
+	 * @return True if and only if both checks succeed.
+	 */
+	public static boolean checkTaillardSeeds() throws IOException {
+		String taillard = "Nb of jobs, Nb of Machines, Time seed, Machine seed, Upper bound, Lower bound\n"
+				+ "          2           2  1314640371  1238540361        9        9\n"
+				+ "Times\n 3 4\n 5 2\nMachines\n 1 2\n 2 1\n";
+		InstanceReader reader = new InstanceReader(
+				Channels.newChannel(new ByteArrayInputStream(taillard
+						.getBytes(StandardCharsets.US_ASCII))), "taillard");
+		boolean ok;
+		try {
+			Problem p = reader.read();
+			ok = p != null && p.getNumberOfJobs() == 2
+					&& p.getNumberOfMachines() == 2
+					&& p.getOptimalCost() == 9
+					&& p.getV().get(1).getMachine().getId() == 0
+					&& p.getV().get(1).getDuration() == 3
+					&& p.getV().get(4).getMachine().getId() == 0
+					&& p.getV().get(4).getDuration() == 2
+					&& reader.read() == null;
+		} finally {
+			reader.close();
+		}
+		System.out.println(ok ? "The instance of Taillard is read."
+				: "The instance of Taillard is not read correctly.");
+
+		String invalid = "2 2 1314640371 1238540361 9\n0 3 1 4\n1 5 0 2\n";
+		reader = new InstanceReader(Channels.newChannel(new ByteArrayInputStream(
+				invalid.getBytes(StandardCharsets.US_ASCII))), "invalid");
+		try {
+			reader.read();
+			System.out.println("The invalid header is not reported.");
+			ok = false;
+		} catch (InstanceFormatException e) {
+			System.out.println("The invalid header is reported: "
+					+ e.getMessage());
+		} finally {
+			reader.close();
+		}
+		return ok;
+	}
+
+	/**
+	 * Check that a solution found by path relinking at a restart, which is
+	 * better than the best solution found so far, becomes the best solution
+	 * of the search.
+	 * 
+	 * A short search with an elite pool is run, of which the path relinking
+	 * returns the solution of a longer search. The search stops right after
+	 * this restart, so it only returns the relinked solution if it has become
+	 * the best solution.
+	 * 
+	 * @return True if and only if the short search returns the relinked
+	 *         solution.
+	 */
+	public static boolean checkRelinkedImprovement(String path) {
+		Problem p = Parser.parseInstance(path);
+		final Solution better = new TabuSearch(p, 0).search();
+		TabuSearch ts = new TabuSearch(p, 0) {
+			@Override
+			PathRelinking createPathRelinking(Problem p) {
+				return new PathRelinking(p, getRandom()) {
+					@Override
+					public Solution relink(Solution initiating,
+							Solution guiding) {
+						setSafetyStop(0); // stop after this iteration
+						return better;
+					}
+				};
+			}
+		};
+		ts.setEliteSize(5);
+		ts.setHistoryLength(1000); // else the pool keeps only the best one
+		ts.setDelta(5);
+		ts.setMaxiter(100);
+		Solution s = ts.search();
+
+		boolean ok = ts.getMetrics().snapshot().get(Metric.PATH_RELINKINGS) > 0
+				&& Arrays.deepEquals(s.getMachineSequences(),
+						better.getMachineSequences())
+				&& ts.getIncumbent().get() == better.getCost();
+		System.out.println(ok ? "The relinked improvement is kept: "
+				+ s.getCost() : "The relinked improvement " + better.getCost()
+				+ " is lost: " + s.getCost());
+		return ok;
+	}
+
+	/**
+	 * Check that a solution with operations of length zero, which share
+	 * their starting time with other operations on their machine, keeps its
+	 * starting times when it is printed by printSolution() and read by
+	 * BinaryFormat.parseSolution().
+	 * 
+	 * @return True if and only if the starting times are the same.
+	 */
+	public static boolean checkZeroLengthRoundTrip() throws IOException {
+		String instance = "#zero\n5 4\n" + "3 5 0 0 1 0 2 0\n"
+				+ "2 0 0 0 1 3 3 0\n" + "2 0 1 0 0 0 3 0\n"
+				+ "1 0 3 0 2 3 0 0\n" + "1 0 3 5 0 1 2 0\n";
+		InstanceReader reader = new InstanceReader(
+				Channels.newChannel(new ByteArrayInputStream(instance
+						.getBytes(StandardCharsets.US_ASCII))), "zero");
+		Problem p;
+		try {
+			p = reader.read();
+		} finally {
+			reader.close();
+		}
+
+		// the operations of length zero 10, 13 and 17 start at 0 on machine
+		// 1, before operation 7 of length 3
+		int[][] sequences = { { 6, 11, 16, 19, 2 }, { 10, 13, 17, 7, 3 },
+				{ 5, 9, 15, 4, 20 }, { 14, 18, 1, 8, 12 } };
+		Operation[][] schedule = new Operation[sequences.length][];
+		for (int m = 0; m < sequences.length; m++) {
+			schedule[m] = new Operation[sequences[m].length];
+			for (int k = 0; k < sequences[m].length; k++)
+				schedule[m][k] = p.getV().get(sequences[m][k]);
+		}
+		Solution s = new Solution(p, schedule);
+
+		Path file = Files.createTempFile("solution", ".txt");
+		Solution read;
+		try {
+			Files.write(file, s.printSolution().getBytes(
+					StandardCharsets.US_ASCII));
+			read = BinaryFormat.parseSolution(p, file);
+		} finally {
+			Files.delete(file);
+		}
+		boolean ok = Arrays.equals(s.getHeads(), read.getHeads());
+		System.out.println(ok ? "The starting times are kept."
+				: "The starting times change: " + read.getCost()
+						+ " instead of " + s.getCost());
+		return ok;
+	}
+
+	/*********************************
+	 * MAIN
+	 *********************************/
+
+	/**
+	 * Run all checks. The first argument is the instance used by the checks
+	 * of the tabu search, which is "testinstances/ft10.txt" by default.
+	 */
+	public static void main(String[] args) throws IOException,
+			InterruptedException, ExecutionException {
+		String path = args.length > 0 ? args[0] : "testinstances/ft10.txt";
+		boolean ok = checkConcurrentSearches(path, 4);
+		ok &= checkTaillardSeeds();
+		ok &= checkRelinkedImprovement(path);
+		ok &= checkZeroLengthRoundTrip();
+		System.out.println(ok ? "All checks succeed." : "Some checks fail.");
+	}
+
+}
@@ -1,11 +1,11 @@
 package tabusearch;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.Stack;
+import java.util.List;
 
 /**
  * A class representation the solution of a JSS problem. A solution can be
@@ -25,11 +25,50 @@ public class Solution extends Problem {
 	 * Initialize a new solution with a given problem and given schedule.
 	 */
 	public Solution(Problem p, Operation[][] s) {
-		super(p.getV(), p.getA(), p.getE());
-		setLongestPath(new LinkedList<Operation>());
+		super(p);
 		schedule = s;
 	}
 
+	/**
+	 * Initialize a new solution, which results from swapping two successive
+	 * operations u and v on the same machine in the schedule of a given
+	 * solution. The given schedule must already contain this swap.
+	 * 
+	 * The heads and tails of the new solution are derived from those of the
+	 * original solution: only the operations after v and before u will be
+	 * evaluated again. The positions of the operations on their machines and
+	 * the hash of the schedule are derived in the same way.
+	 */
+	public Solution(Solution original, Operation[][] s, Operation u,
+			Operation v) {
+		this(original, s);
+		if (original.hashed) {
+			hash = original.getHash(Arrays.asList(u, v));
+			hashed = true;
+		}
+		graph = new DisjunctiveGraph(original.getGraph(), u.getId(),
+				v.getId());
+		heads = graph.updateHeads(original.getHeads(), v.getId());
+		tails = graph.updateTails(original.getTails(), u.getId());
+		machinePositions = original.getMachinePositions().clone();
+		machinePositions[u.getId()]++;
+		machinePositions[v.getId()]--;
+	}
+
+	/**
+	 * Initialize a new solution, which results from applying a given move to a
+	 * given solution. The given schedule must already contain the move.
+	 * 
+	 * Only the hash of the schedule is derived from the original solution.
+	 */
+	public Solution(Solution original, Operation[][] s, Move m) {
+		this(original, s);
+		if (original.hashed) {
+			hash = original.getHash(m);
+			hashed = true;
+		}
+	}
+
 	/**
 	 * Initialize a new solution with a given problem and an empty schedule.
 	 */
@@ -48,9 +87,17 @@ public class Solution extends Problem {
 	private final Operation[][] schedule;
 
 	/**
+	 * Get the schedule.
+	 * 
+	 * Note that the cost, longest path, heads and tails of the solution will
+	 * be calculated again afterwards, as the returned schedule might be
+	 * modified directly.
+	 * 
 	 * @return the schedule
 	 */
 	public Operation[][] getSchedule() {
+		invalidate();
+		machinePositions = null;
 		return schedule;
 	}
 
@@ -66,13 +113,16 @@ public class Solution extends Problem {
 
 		boolean searchingNextFreePlace = true;
 		while (searchingNextFreePlace) {
-			if (getSchedule()[machineId][index] == null)
+			if (schedule[machineId][index] == null)
 				searchingNextFreePlace = false;
 			index++; // go to the right to find next free spot
 		}
 
 		int dropIndex = index - 1;
-		getSchedule()[machineId][dropIndex] = oToBeScheduled;
+		schedule[machineId][dropIndex] = oToBeScheduled;
+		if (machinePositions != null)
+			machinePositions[oToBeScheduled.getId()] = dropIndex;
+		invalidate();
 	}
 
 	/**
@@ -88,26 +138,166 @@ public class Solution extends Problem {
 
 		boolean searchingNextFreePlace = true;
 		while (searchingNextFreePlace) {
-			if (getSchedule()[machineId][index] == null)
+			if (schedule[machineId][index] == null)
 				searchingNextFreePlace = false;
 			index--; // go to the left to find next free spot
 		}
 
 		int dropIndex = index + 1;
-		getSchedule()[machineId][dropIndex] = oToBeScheduled;
+		schedule[machineId][dropIndex] = oToBeScheduled;
+		if (machinePositions != null)
+			machinePositions[oToBeScheduled.getId()] = dropIndex;
+		invalidate();
+	}
+
+	/**
+	 * Variable referencing the position of every operation in the schedule of
+	 * its machine, indexed by the id of the operation. This is NONE if the
+	 * operation is not scheduled. The positions will be found the first time
+	 * they are needed.
+	 */
+	private int[] machinePositions = null;
+
+	/**
+	 * Get the position of every operation in the schedule of its machine,
+	 * indexed by the id of the operation.
+	 */
+	public int[] getMachinePositions() {
+		if (machinePositions == null) {
+			int[] positions = new int[getNumberOfOperations()];
+			Arrays.fill(positions, DisjunctiveGraph.NONE);
+			for (Operation[] operations : schedule)
+				for (int k = 0; k < operations.length; k++)
+					if (operations[k] != null)
+						positions[operations[k].getId()] = k;
+			machinePositions = positions;
+		}
+		return machinePositions;
+	}
+
+	/**
+	 * Get the position of an operation in the schedule of its machine. This is
+	 * NONE if the operation is not scheduled.
+	 */
+	public int getMachinePosition(Operation i) {
+		return getMachinePositions()[i.getId()];
+	}
+
+	/**
+	 * Get the ids of the operations on every machine, in the order in which
+	 * they are processed.
+	 */
+	public int[][] getMachineSequences() {
+		int[][] sequences = new int[schedule.length][];
+		for (int i = 0; i < schedule.length; i++) {
+			int size = 0;
+			for (Operation o : schedule[i])
+				if (o != null)
+					size++;
+			sequences[i] = new int[size];
+			size = 0;
+			for (Operation o : schedule[i])
+				if (o != null)
+					sequences[i][size++] = o.getId();
+		}
+		return sequences;
 	}
 
 	/**
 	 * Clone a schedule.
 	 */
 	public Operation[][] cloneSchedule() {
-		Operation[][] schedule = new Operation[getNumberOfMachines()][getMaximumNumberOfOperationsOnMachine()];
+		Operation[][] clone = new Operation[getNumberOfMachines()][getMaximumNumberOfOperationsOnMachine()];
 		for (int i = 0; i < getNumberOfMachines(); i++) {
 			for (int j = 0; j < getMaximumNumberOfOperationsOnMachine(); j++) {
-				schedule[i][j] = getSchedule()[i][j];
+				clone[i][j] = schedule[i][j];
 			}
 		}
-		return schedule;
+		return clone;
+	}
+
+	/*********************************
+	 * HASH
+	 *********************************/
+
+	/**
+	 * Variable referencing the Zobrist hash of the schedule: the exclusive or
+	 * of the keys of all arcs between successive operations on a machine. It
+	 * is only valid if hashed is true.
+	 */
+	private long hash;
+	private boolean hashed = false;
+
+	/**
+	 * Get the hash of the schedule. Solutions with the same schedule have the
+	 * same hash.
+	 */
+	public long getHash() {
+		if (!hashed) {
+			long h = 0;
+			for (Operation[] operations : schedule) {
+				Operation prev = null;
+				for (Operation o : operations) {
+					if (o == null)
+						continue;
+					if (prev != null)
+						h ^= getArcKey(prev.getId(), o.getId());
+					prev = o;
+				}
+			}
+			hash = h;
+			hashed = true;
+		}
+		return hash;
+	}
+
+	/**
+	 * Get the hash of the schedule after applying a given move, in constant
+	 * time, without building the neighboring solution.
+	 */
+	public long getHash(Move m) {
+		return getHash(m.getInversion());
+	}
+
+	/**
+	 * Get the hash of the schedule after reversing the given successive
+	 * operations on the same machine. Only the arcs from the machine
+	 * predecessor of the first operation to the machine successor of the last
+	 * one change.
+	 */
+	private long getHash(List<Operation> operations) {
+		Operation pm = getPMOfOperation(operations.get(0));
+		Operation sm = getSMOfOperation(operations.get(operations.size() - 1));
+		int first = pm == null ? DisjunctiveGraph.NONE : pm.getId();
+		int last = sm == null ? DisjunctiveGraph.NONE : sm.getId();
+
+		long h = getHash();
+		int prev = first; // remove the old arcs
+		for (Operation o : operations) {
+			h ^= getArcKey(prev, o.getId());
+			prev = o.getId();
+		}
+		h ^= getArcKey(prev, last);
+		prev = first; // add the reversed arcs
+		for (int k = operations.size() - 1; k >= 0; k--) {
+			h ^= getArcKey(prev, operations.get(k).getId());
+			prev = operations.get(k).getId();
+		}
+		return h ^ getArcKey(prev, last);
+	}
+
+	/**
+	 * Get the random key of the arc from operation i to operation j. The key
+	 * mixes both ids (SplitMix64), so no table of keys has to be stored. The
+	 * key is 0 if one of both operations is NONE.
+	 */
+	private static long getArcKey(int i, int j) {
+		if (i == DisjunctiveGraph.NONE || j == DisjunctiveGraph.NONE)
+			return 0;
+		long z = ((long) i << 32 | j) + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
 	}
 
 	/*********************************
@@ -118,71 +308,168 @@ public class Solution extends Problem {
 	 * Variable referencing the longest path of a solution (the sum of the nodes
 	 * on this path is the cost).
 	 */
-	private LinkedList<Operation> longestPath = new LinkedList<Operation>();
+	private LinkedList<Operation> longestPath = null;
 
 	/**
-	 * @return the longestPath
+	 * Get the longest path of the solution, starting with the source and
+	 * ending with the sink.
 	 */
 	public LinkedList<Operation> getLongestPath() {
+		if (longestPath == null) {
+			LinkedList<Operation> path = new LinkedList<Operation>();
+			path.add(getV().get(0));
+			for (int o : getGraph().getLongestPath(getHeads()))
+				path.add(getV().get(o));
+			path.add(getV().get(getNumberOfOperations() - 1));
+			longestPath = path;
+		}
 		return longestPath;
 	}
 
 	/**
-	 * @param longestPath
-	 *            the longestPath to set
+	 * Variable referencing the operation following every operation on the
+	 * longest path, indexed by the id of the operation. This is NONE for
+	 * operations which are not on the longest path, and for the last one.
+	 */
+	private int[] criticalSuccessors = null;
+
+	/**
+	 * Get the operation following every operation on the longest path (source
+	 * and sink excluded), indexed by the id of the operation.
+	 */
+	public int[] getCriticalSuccessors() {
+		if (criticalSuccessors == null) {
+			int[] successors = new int[getNumberOfOperations()];
+			Arrays.fill(successors, DisjunctiveGraph.NONE);
+			int[] path = getGraph().getLongestPath(getHeads());
+			for (int k = 0; k < path.length - 1; k++)
+				successors[path[k]] = path[k + 1];
+			criticalSuccessors = successors;
+		}
+		return criticalSuccessors;
+	}
+
+	/**
+	 * Check if a given operation (x) immediately precedes the given operation
+	 * (y) on the longest path, in constant time.
 	 */
-	private void setLongestPath(LinkedList<Operation> longestPath) {
-		this.longestPath = longestPath;
+	public boolean immediatelyPrecedesOnLongestPath(Operation x, Operation y) {
+		return x != null && y != null
+				&& getCriticalSuccessors()[x.getId()] == y.getId();
+	}
+
+	/**
+	 * Variable referencing the head of every operation: the earliest starting
+	 * time of the operation.
+	 */
+	private int[] heads = null;
+
+	/**
+	 * Get the head of every operation, indexed by the id of the operation.
+	 */
+	public int[] getHeads() {
+		evaluate();
+		return heads;
+	}
+
+	/**
+	 * Variable referencing the tail of every operation: the length of the
+	 * longest path from the end of the operation to the sink.
+	 */
+	private int[] tails = null;
+
+	/**
+	 * Get the tail of every operation, indexed by the id of the operation.
+	 */
+	public int[] getTails() {
+		evaluate();
+		return tails;
 	}
 
 	/**
 	 * Get the cost of the solution.
 	 */
-	public float getCost() {
-		float[][] longestPath = calculateLongestPath();
-		return longestPath[longestPath.length - 1][0];
+	public int getCost() {
+		evaluate();
+		return heads[heads.length - 1];
+	}
+
+	/**
+	 * Calculate the exact cost of the solution after applying a given move of
+	 * two successive operations on the same machine, without building the
+	 * neighboring solution.
+	 */
+	public int calculateCost(Move m) {
+		return new MoveEvaluator(this).evaluate(this, m);
+	}
+
+	/**
+	 * Estimate the cost of the solution after applying a given move of two or
+	 * three successive operations on the same machine, without building the
+	 * neighboring solution.
+	 * 
+	 * This takes constant time, but the estimate might be lower than the
+	 * exact cost.
+	 */
+	public int estimateCost(Move m) {
+		LinkedList<Operation> inversion = m.getInversion();
+		if (m.getNumberOfOperationsInInversion() == 3)
+			return getGraph().estimateReversal(getHeads(), getTails(),
+					inversion.get(0).getId(), inversion.get(1).getId(),
+					inversion.get(2).getId());
+		return getGraph().estimateSwap(getHeads(), getTails(),
+				inversion.get(0).getId(), inversion.get(1).getId());
+	}
+
+	/**
+	 * Forget the cost, longest path, heads, tails and hash of the solution.
+	 * They will be calculated again the next time they are needed.
+	 * 
+	 * This method must be called after every modification of the schedule.
+	 */
+	public void invalidate() {
+		graph = null;
+		heads = null;
+		tails = null;
+		longestPath = null;
+		criticalSuccessors = null;
+		hashed = false;
 	}
 
 	/**
 	 * Get the adjacency list representation of the JSS problem.
+	 * 
+	 * The weight of an arc is the duration of the operation it leaves, such
+	 * that the length of a path from the source to an operation is the time
+	 * at which this operation can start.
 	 */
-	public HashMap<Operation, Float>[] getAdjacencyListRepresentation() {
+	public HashMap<Operation, Integer>[] getAdjacencyListRepresentation() {
 		@SuppressWarnings("unchecked")
-		HashMap<Operation, Float>[] adj = new HashMap[getNumberOfOperations()];
+		HashMap<Operation, Integer>[] adj = new HashMap[getNumberOfOperations()];
 		for (int i = 0; i < adj.length; ++i)
-			adj[i] = new HashMap<Operation, Float>();
+			adj[i] = new HashMap<Operation, Integer>();
 
 		// fill hashmap with initial and final operations
 		for (LinkedList<Operation> list : getA()) {
-			adj[0].put(list.getFirst(),
-					(float) list.getFirst().getDuration() / 2);
-			adj[list.getLast().getId()].put(new Operation(0, null, null,
-					getNumberOfOperations() - 1), (float) list.getLast()
-					.getDuration() / 2);
+			adj[0].put(list.getFirst(), 0);
+			adj[list.getLast().getId()].put(
+					getV().get(getNumberOfOperations() - 1), list.getLast()
+							.getDuration());
 		}
 
 		// Add successor of each operation to the adjacency representation
 		for (Operation o : getV()) {
-			if (o.getMachine() != null && o.getJob() != null
-					&& getSJOfOperation(o) != null) { // don't handle
-														// source and
-														// sink again
-				adj[o.getId()].put(getSJOfOperation(o),
-						(float) getSJOfOperation(o).getDuration() / 2
-								+ (float) o.getDuration() / 2);
-			}
+			Operation sj = getSJOfOperation(o);
+			if (sj != null)
+				adj[o.getId()].put(sj, o.getDuration());
 		}
 
 		// iterate through edges showing precedence on machine i
-		for (int i = 0; i < getSchedule().length; i++) {
-			for (int j = 0; j < getSchedule()[i].length - 1; j++) {
-				if (getSchedule()[i][j + 1] != null)
-					adj[getSchedule()[i][j].getId()].put(
-							getSchedule()[i][j + 1],
-							(float) getSchedule()[i][j].getDuration()
-									/ 2
-									+ (float) getSchedule()[i][j + 1]
-											.getDuration() / 2);
+		for (int i = 0; i < schedule.length; i++) {
+			for (int j = 0; j < schedule[i].length - 1; j++) {
+				if (schedule[i][j + 1] != null)
+					adj[schedule[i][j].getId()].put(schedule[i][j + 1],
+							schedule[i][j].getDuration());
 			}
 		}
 
@@ -190,126 +477,31 @@ public class Solution extends Problem {
 	}
 
 	/**
-	 * Help method used by topologicalSort().
+	 * Variable referencing the disjunctive graph of the solution. The graph
+	 * will be built the first time it is needed.
 	 */
-	private void topologicalSortUtil(Operation o, Boolean visited[],
-			Stack<Operation> stack) {
-		// Mark the current node as visited.
-		visited[o.getId()] = true;
-		Operation i;
-
-		// Recur for all the vertices adjacent to this vertex
-		Iterator<Operation> it = getAdjacencyListRepresentation()[o.getId()]
-				.keySet().iterator();
-		while (it.hasNext()) {
-			i = it.next();
-			if (!visited[i.getId()])
-				topologicalSortUtil(i, visited, stack);
-		}
-
-		// Push current vertex to stack which stores result
-		stack.push(o);
-	}
+	private DisjunctiveGraph graph = null;
 
 	/**
-	 * Topological sorting for Directed Acyclic Graph (DAG) is a linear ordering
-	 * of vertices such that for every directed edge uv, vertex u comes before v
-	 * in the ordering.
+	 * Get the disjunctive graph of the solution.
 	 */
-	private Stack<Operation> topologicalSort() {
-		Stack<Operation> stack = new Stack<Operation>();
-
-		// Mark all the vertices as not visited
-		Boolean visited[] = new Boolean[getNumberOfOperations()];
-		for (int i = 0; i < getNumberOfOperations(); i++)
-			visited[i] = false;
-
-		// Call the recursive helper function to store Topological
-		// Sort starting from all vertices one by one
-		for (int i = 0; i < getNumberOfOperations(); i++)
-			if (!visited[i])
-				topologicalSortUtil(getV().get(i), visited, stack);
-
-		return stack;
+	public DisjunctiveGraph getGraph() {
+		if (graph == null)
+			graph = new DisjunctiveGraph(this, schedule);
+		return graph;
 	}
 
 	/**
-	 * Calculate the longest path will set the longest path, to a longest path
-	 * found in the graph. It will return the value of this longest path.
-	 * 
-	 * @return
+	 * Calculate the heads and tails of the solution, if they are not known
+	 * yet.
 	 */
-	private float[][] calculateLongestPath() {
-		Stack<Operation> stack = topologicalSort();
-
-		// Set all labels to "-Inf" (min value of an integer)
-		Label[] label = new Label[getNumberOfOperations()];
-		for (int i = 0; i < getNumberOfOperations(); i++) {
-			label[i] = new Label();
-			label[i].setDistance(Integer.MIN_VALUE);
-		}
-
-		label[0].setDistance(0); // begin searching the longest path from source
-
-		// Process all operations in topological order
-		Operation o = null;
-		while (!stack.empty()) {
-			// Get the next operation
-			o = stack.peek();
-			stack.pop();
-
-			// Update labels
-			if (label[o.getId()].getDistance() != Integer.MIN_VALUE) {
-				HashMap<Operation, Float>[] adjacencyList = getAdjacencyListRepresentation();
-				for (Operation adjOp : adjacencyList[o.getId()].keySet()) {
-					if (label[adjOp.getId()].getDistance() < label[o.getId()]
-							.getDistance()
-							+ (float) adjOp.getDuration()
-							/ 2
-							+ (float) o.getDuration() / 2) {
-						label[adjOp.getId()].setDistance(label[o.getId()]
-								.getDistance()
-								+ (float) adjOp.getDuration()
-								/ 2 + (float) o.getDuration() / 2);
-						label[adjOp.getId()].setOperation(o);
-					}
-				}
-			}
-		}
-
-		// Make sure that the longest path is first empty
-		setLongestPath(new LinkedList<Operation>());
-
-		// Build the path itself using our labels (operations), starting from
-		// the sink
-		getLongestPath().addFirst(new Operation(0, null, null, label.length));
-		Operation prev = label[label.length - 1].getOperation();
-		while (prev != null) {
-			getLongestPath().addFirst(prev);
-			prev = label[prev.getId()].getOperation();
-		}
-
-		// Construct solution as in example Dropbox
-		float[][] sol = new float[getNumberOfJobs() + 1][getMaximumNumberOfOperationsOnJob()];
-		int id = 1;
-		for (int row = 0; row < getNumberOfJobs(); row++) {
-			for (int column = 0; column < getMaximumNumberOfOperationsOnJob(); column++) {
-				float earliestStartingTime = 0;
-				Operation vorige = label[id].getOperation();
-				while (vorige != null) {
-					earliestStartingTime += vorige.getDuration();
-					vorige = label[vorige.getId()].getOperation();
-				}
-				sol[row][column] = earliestStartingTime;
-				id++;
-			}
-		}
-
-		// Add additional row with longest path length
-		sol[getNumberOfJobs()][0] = label[getNumberOfOperations() - 1]
-				.getDistance();
-
-		return sol;
+	private void evaluate() {
+		if (heads != null)
+			return;
+		DisjunctiveGraph g = getGraph();
+		int[] order = g.topologicalSort();
+		tails = g.calculateTails(order);
+		heads = g.calculateHeads(order);
 	}
 
 	/**
@@ -332,10 +524,10 @@ public class Solution extends Problem {
 	@Override
 	public String toString() {
 		String res = "****** Schedule: ******";
-		for (int i = 0; i < getSchedule().length; i++) {
+		for (int i = 0; i < schedule.length; i++) {
 			res += "\n";
-			for (int j = 0; j < getSchedule()[i].length; j++) {
-				res += getSchedule()[i][j] + ", ";
+			for (int j = 0; j < schedule[i].length; j++) {
+				res += schedule[i][j] + ", ";
 			}
 		}
 		res += "\ncost: " + getCost();
@@ -360,15 +552,20 @@ public class Solution extends Problem {
 		String res = "";
 		res += getNumberOfJobs() + " ";
 		res += getNumberOfMachines() + "\n";
-		float[][] sol = calculateLongestPath();
+		int[] heads = getHeads();
 
-		for (int i = 0; i < sol.length - 1; i++) {
-			for (int j = 0; j < sol[i].length; j++) {
-				res += (Math.round(sol[i][j]) + " ");
+		// the starting times of the operations of every job, followed by the
+		// value of the longest path
+		int columns = getMaximumNumberOfOperationsOnJob();
+		int id = 1;
+		for (int row = 0; row < getNumberOfJobs(); row++) {
+			for (int column = 0; column < columns; column++) {
+				res += heads[id] + " ";
+				id++;
 			}
 			res += "\n";
 		}
-		res += Math.round(sol[sol.length - 1][0]);
+		res += getCost();
 		return res;
 	}
 
@@ -396,20 +593,78 @@ public class Solution extends Problem {
 		return inversions;
 	}
 
+	/**
+	 * Get the critical blocks of the longest path of the solution. A critical
+	 * block is a maximal sequence of successive operations on the longest
+	 * path, which are processed on the same machine. The blocks are returned
+	 * in the order of the longest path.
+	 */
+	public LinkedList<LinkedList<Operation>> getCriticalBlocks() {
+		LinkedList<LinkedList<Operation>> blocks = new LinkedList<LinkedList<Operation>>();
+		LinkedList<Operation> block = null;
+		for (Operation o : getLongestPath()) {
+			if (o.getMachine() == null) // source and sink
+				continue;
+			if (block == null
+					|| block.getLast().getMachine().getId() != o.getMachine()
+							.getId()) {
+				block = new LinkedList<Operation>();
+				blocks.add(block);
+			}
+			block.add(o);
+		}
+		return blocks;
+	}
+
+	/**
+	 * Get the possible inversions (type N5) of a solution. In this case we
+	 * only consider inversions of the first two and the last two operations
+	 * of every critical block (Nowicki and Smutnicki). The first two
+	 * operations of the first block and the last two operations of the last
+	 * block are not inverted, as these inversions can never improve the
+	 * solution. This will be a subset of the inversions of type N1.
+	 */
+	public HashSet<Move> getPossibleInversionsN5() {
+		HashSet<Move> inversions = new HashSet<Move>();
+		LinkedList<LinkedList<Operation>> blocks = getCriticalBlocks();
+
+		int i = 0;
+		for (LinkedList<Operation> block : blocks) {
+			boolean first = i == 0;
+			boolean last = i == blocks.size() - 1;
+			int size = block.size();
+			if (size >= 2) {
+				if (!first)
+					inversions.add(new Move(block.get(0), block.get(1)));
+				// a block of two operations has only one inversion
+				if (!last && (first || size > 2))
+					inversions.add(new Move(block.get(size - 2), block
+							.get(size - 1)));
+			}
+			i++;
+		}
+
+		return inversions;
+	}
+
 	/**
 	 * Get the possible inversions (type NA) of a solution. In this case we
-	 * consider all permutations of {PM[i],i,j} and {i,j,SM[j]} in which arc
-	 * (i,j) is inverted. This will be inversions of type N1 with some
-	 * additional inversions. Note that (i,j) should be successive operations,
-	 * processed on the same machine on a longest path. PM[i] and SM[j] should
-	 * also be on this longest path if they are reversed as well.
+	 * consider all inversions of type N1 and the reversals of {PM[i],i,j} and
+	 * {i,j,SM[j]}, in which arc (i,j) is inverted. Note that (i,j) should be
+	 * successive operations, processed on the same machine on a longest path.
+	 * PM[i] and SM[j] should also be on this longest path if they are reversed
+	 * as well. Every reversal of {i,j,SM[j]} is also the reversal of
+	 * {PM[j],j,SM[j]}, so only the reversals of {PM[i],i,j} are generated.
+	 * 
+	 * A reversal is only considered if it certainly does not create a cycle.
 	 */
 	public HashSet<Move> getPossibleInversionsNA() {
 		// NA is extension of N1. It will consider all inversions of N1,
 		// and some additional ones.
 		HashSet<Move> inversionsN1 = getPossibleInversionsN1();
 		HashSet<Move> inversionsNA = new HashSet<Move>();
-		LinkedList<Operation> longestPath = getLongestPath();
+		DisjunctiveGraph g = getGraph();
+		int[] heads = getHeads();
 
 		for (Move mN1 : inversionsN1) {
 			inversionsNA.add(mN1);
@@ -417,103 +672,44 @@ public class Solution extends Problem {
 			Operation u = mN1.getInversion().get(0);
 			Operation v = mN1.getInversion().get(1);
 			Operation PMu = getPMOfOperation(u);
-			Operation SMv = getSMOfOperation(v);
-			Operation PMPMu = getPMOfOperation(PMu);
-			Operation SMSMv = getSMOfOperation(SMv);
-
-			if (PMu != null) {
-				if (firstOperationImmediatelyPrecedesSecondOperationOnLongestPath(
-						PMu, u, longestPath)
-						&& (firstOperationImmediatelyPrecedesSecondOperationOnLongestPath(
-								v, SMv, longestPath) || SMv == null)
-						&& (firstOperationImmediatelyPrecedesSecondOperationOnLongestPath(
-								PMPMu, PMu, longestPath) || PMPMu == null)
-						&& (firstOperationImmediatelyPrecedesSecondOperationOnLongestPath(
-								v, PMPMu, longestPath) || PMPMu == null)
-						&& (firstOperationImmediatelyPrecedesSecondOperationOnLongestPath(
-								SMv, PMu, longestPath) || SMv == null)) {
-					inversionsNA.add(new Move(PMu, u, v));
-				}
-
-			}
-
-			if (SMv != null) {
-				if (firstOperationImmediatelyPrecedesSecondOperationOnLongestPath(
-						v, SMv, longestPath)
-						&& (firstOperationImmediatelyPrecedesSecondOperationOnLongestPath(
-								PMu, u, longestPath) || PMu == null)
-						&& (firstOperationImmediatelyPrecedesSecondOperationOnLongestPath(
-								SMv, SMSMv, longestPath) || SMSMv == null)
-						&& (firstOperationImmediatelyPrecedesSecondOperationOnLongestPath(
-								v, PMu, longestPath) || PMu == null)
-						&& (firstOperationImmediatelyPrecedesSecondOperationOnLongestPath(
-								SMSMv, u, longestPath) || SMSMv == null)) {
-					inversionsNA.add(new Move(u, v, SMv));
-				}
-			}
 
+			if (immediatelyPrecedesOnLongestPath(PMu, u)
+					&& g.isReversalAcyclic(heads, PMu.getId(), u.getId(),
+							v.getId()))
+				inversionsNA.add(new Move(PMu, u, v));
 		}
 		return inversionsNA;
 	}
 
 	/**
-	 * Check if a given operation (uP), immediately precedes the given operation
-	 * (u) on the given longest path (longestPath).
-	 */
-	private static boolean firstOperationImmediatelyPrecedesSecondOperationOnLongestPath(
-			Operation uP, Operation u, LinkedList<Operation> longestPath) {
-		try {
-			int i = 0;
-			for (i = 0; i < longestPath.size(); i++) {
-				if (longestPath.get(i).equals(uP)) {
-					break;
-				}
-			}
-			return u.equals(longestPath.get(i + 1));
-		} catch (Exception e) {
-			return false;
-		}
-	}
-
-	/**
-	 * Get the immediate successor of an operation on its machine.
+	 * Get the immediate predecessor of an operation on its machine.
 	 * 
 	 * Please note that this method will return a null value, if the immediate
 	 * predecessor does not exist.
 	 */
 	public Operation getPMOfOperation(Operation i) {
-		try {
-			Operation[] operations = getSchedule()[i.getMachine().getId()];
-			Operation prev = null;
-			for (int k = 0; k < operations.length; k++) {
-				if (operations[k].equals(i))
-					return prev;
-				prev = operations[k];
-			}
+		if (i == null || i.getMachine() == null)
 			return null;
-		} catch (Exception e) {
+		int k = getMachinePosition(i);
+		if (k <= 0)
 			return null;
-		}
+		return schedule[i.getMachine().getId()][k - 1];
 	}
 
 	/**
-	 * Get the immediate predecessor of an operation on its machine.
+	 * Get the immediate successor of an operation on its machine.
 	 *
 	 * Please note that this method will return a null value, if the immediate
 	 * successor does not exist.
 	 */
 	public Operation getSMOfOperation(Operation i) {
-		try {
-			Operation[] operations = getSchedule()[i.getMachine().getId()];
-			for (int k = 0; k < operations.length; k++) {
-				if (operations[k].equals(i)) {
-					return operations[k + 1];
-				}
-			}
+		if (i == null || i.getMachine() == null)
 			return null;
-		} catch (Exception e) {
+		int k = getMachinePosition(i);
+		Operation[] operations = schedule[i.getMachine().getId()];
+		if (k == DisjunctiveGraph.NONE || k + 1 >= operations.length)
 			return null;
-		}
+		return operations[k + 1];
 	}
 
 }
@@ -19,9 +19,22 @@ public class TabuList {
 	 *            The JSS instance.
 	 */
 	public TabuList(Problem p) {
+		this(p, new Random());
+	}
+
+	/**
+	 * Initialize an empty tabu list for a given problem, which chooses its
+	 * minimum and maximum length with the given random number generator.
+	 * 
+	 * @param p
+	 *            The JSS instance.
+	 * @param rand
+	 *            The random number generator.
+	 */
+	public TabuList(Problem p, Random rand) {
 		matrix = new int[p.getNumberOfOperations()][p.getNumberOfOperations()];
 
-		Random rand = new Random();
+		random = rand;
 		a = 2;
 		b = a + (p.getNumberOfJobs() + p.getNumberOfMachines()) / 3;
 		setMin(rand.nextInt((b - a) + 1) + a);
@@ -30,6 +43,28 @@ public class TabuList {
 		setMax(rand.nextInt((B - A) + 1) + A);
 	}
 
+	/**
+	 * Initialize an empty tabu list for a given problem, of which the lower
+	 * bound for max is given, as in another tabu list for the same problem.
+	 * The length, min and max of the tabu list have to be set.
+	 * 
+	 * @param p
+	 *            The JSS instance.
+	 * @param rand
+	 *            The random number generator.
+	 * @param A
+	 *            The lower bound for max.
+	 */
+	public TabuList(Problem p, Random rand, int A) {
+		matrix = new int[p.getNumberOfOperations()][p.getNumberOfOperations()];
+
+		random = rand;
+		a = 2;
+		b = a + (p.getNumberOfJobs() + p.getNumberOfMachines()) / 3;
+		this.A = A;
+		B = A + (p.getNumberOfJobs() + p.getNumberOfMachines()) / 3;
+	}
+
 	/************************************
 	 * CONTENT (matrix)
 	 ************************************/
@@ -90,9 +125,8 @@ public class TabuList {
 	 * b, max will be chosen between A and B.
 	 */
 	private void randomlyChooseMinAndMax() {
-		Random rand = new Random();
-		setMin(rand.nextInt((b - a) + 1) + a);
-		setMax(rand.nextInt((B - A) + 1) + A);
+		setMin(random.nextInt((b - a) + 1) + a);
+		setMax(random.nextInt((B - A) + 1) + A);
 	}
 
 	/**
@@ -171,12 +205,12 @@ public class TabuList {
 	 * (length-1). Else if cost(current) >= cost(solution at previous iteration)
 	 * && length < max then new.length == (length+1).
 	 */
-	private static int length = 1;
+	private int length = 1;
 
 	/**
 	 * @return the length
 	 */
-	public static int getLength() {
+	public int getLength() {
 		return length;
 	}
 
@@ -184,8 +218,8 @@ public class TabuList {
 	 * @param length
 	 *            the length to set
 	 */
-	public static void setLength(int length) {
-		TabuList.length = length;
+	public void setLength(int length) {
+		this.length = length;
 	}
 
 	/**
@@ -193,12 +227,12 @@ public class TabuList {
 	 * phase the length of the list must be less than a given max to increase
 	 * the list length by one unit.
 	 */
-	private static int max;
+	private int max;
 
 	/**
 	 * @return the max
 	 */
-	public static int getMax() {
+	public int getMax() {
 		return max;
 	}
 
@@ -206,8 +240,8 @@ public class TabuList {
 	 * @param max
 	 *            the max to set
 	 */
-	public static void setMax(int max) {
-		TabuList.max = max;
+	public void setMax(int max) {
+		this.max = max;
 	}
 
 	/**
@@ -215,12 +249,12 @@ public class TabuList {
 	 * the length of the list must be greater than a given min to decrease the
 	 * list length by one unit.
 	 */
-	private static int min;
+	private int min;
 
 	/**
 	 * @return the min
 	 */
-	public static int getMin() {
+	public int getMin() {
 		return min;
 	}
 
@@ -228,8 +262,8 @@ public class TabuList {
 	 * @param min
 	 *            the min to set
 	 */
-	public static void setMin(int min) {
-		TabuList.min = min;
+	public void setMin(int min) {
+		this.min = min;
 	}
 
 	/**
@@ -245,6 +279,12 @@ public class TabuList {
 		return lambda;
 	}
 
+	/**
+	 * Variable referencing the random number generator, used to choose min
+	 * and max.
+	 */
+	private final Random random;
+
 	/**
 	 * Variable referencing the lower bound for min.
 	 */
@@ -260,6 +300,13 @@ public class TabuList {
 	 */
 	private final int A;
 
+	/**
+	 * @return the A
+	 */
+	public int getA() {
+		return A;
+	}
+
 	/**
 	 * Variable referencing the upper bound for max.
 	 */
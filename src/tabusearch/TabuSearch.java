@@ -1,6 +1,10 @@
 package tabusearch;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -10,6 +14,21 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.PriorityQueue;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
  * Class for the tabu search algorithm.
@@ -20,6 +39,548 @@ import java.util.Random;
 
 public class TabuSearch {
 
+	/************************************
+	 * CONSTRUCTORS
+	 ************************************/
+
+	/**
+	 * Initialize a tabu search for a given problem, of which all random
+	 * choices are determined by the given seed. Two searches with the same
+	 * problem, parameters and seed will always follow the same trajectory.
+	 * 
+	 * @param p
+	 *            The given JSS instance
+	 * @param seed
+	 *            The seed of the random number generator
+	 */
+	public TabuSearch(Problem p, long seed) {
+		this(p, new SearchRandom(seed));
+	}
+
+	/**
+	 * Initialize a tabu search for a given problem, with a random seed.
+	 * 
+	 * @param p
+	 *            The given JSS instance
+	 */
+	public TabuSearch(Problem p) {
+		this(p, new SearchRandom());
+	}
+
+	/**
+	 * Initialize a tabu search for a given problem, using the given random
+	 * number generator for all random choices.
+	 */
+	private TabuSearch(Problem p, SearchRandom rand) {
+		problem = p;
+		random = rand;
+	}
+
+	/************************************
+	 * PARAMETERS
+	 ************************************/
+
+	/**
+	 * Variable referencing the JSS instance.
+	 */
+	private final Problem problem;
+
+	/**
+	 * @return the problem
+	 */
+	public Problem getProblem() {
+		return problem;
+	}
+
+	/**
+	 * Variable referencing the random number generator of the search, of
+	 * which the state is stored in a checkpoint.
+	 */
+	private final SearchRandom random;
+
+	/**
+	 * @return the random
+	 */
+	public Random getRandom() {
+		return random;
+	}
+
+	/**
+	 * Variable referencing the way in which the neighbors are evaluated.
+	 */
+	private Evaluation evaluation = Evaluation.EXACT;
+
+	/**
+	 * @return the evaluation
+	 */
+	public Evaluation getEvaluation() {
+		return evaluation;
+	}
+
+	/**
+	 * @param evaluation
+	 *            the evaluation to set
+	 */
+	public void setEvaluation(Evaluation evaluation) {
+		this.evaluation = evaluation;
+	}
+
+	/**
+	 * Variable referencing the neighborhood structure, which is explored in
+	 * every iteration.
+	 */
+	private Neighborhood neighborhood = Neighborhood.N1;
+
+	/**
+	 * @return the neighborhood
+	 */
+	public Neighborhood getNeighborhood() {
+		return neighborhood;
+	}
+
+	/**
+	 * @param neighborhood
+	 *            the neighborhood to set
+	 */
+	public void setNeighborhood(Neighborhood neighborhood) {
+		this.neighborhood = neighborhood;
+	}
+
+	/**
+	 * Variable referencing whether the neighbors of each iteration are
+	 * evaluated concurrently in the common fork/join pool. The choice of the
+	 * move is still made afterwards by a single thread, considering the moves
+	 * in a fixed order, such that the result does not depend on the
+	 * evaluation order.
+	 */
+	private boolean parallel = false;
+
+	/**
+	 * @return the parallel
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * @param parallel
+	 *            the parallel to set
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Variable referencing whether the cost of the current solution after
+	 * every iteration is recorded, such that the trajectories of two runs can
+	 * be compared.
+	 */
+	private boolean traced = false;
+
+	/**
+	 * @return the traced
+	 */
+	public boolean isTraced() {
+		return traced;
+	}
+
+	/**
+	 * @param traced
+	 *            the traced to set
+	 */
+	public void setTraced(boolean traced) {
+		this.traced = traced;
+	}
+
+	/**
+	 * Variable referencing the global maximum number of iterations.
+	 */
+	private int maxiter = MAXITER;
+
+	/**
+	 * @return the maxiter
+	 */
+	public int getMaxiter() {
+		return maxiter;
+	}
+
+	/**
+	 * @param maxiter
+	 *            the maxiter to set
+	 */
+	public void setMaxiter(int maxiter) {
+		this.maxiter = maxiter;
+	}
+
+	/**
+	 * Variable referencing the restarting parameter delta.
+	 */
+	private int delta = DELTA;
+
+	/**
+	 * @return the delta
+	 */
+	public int getDelta() {
+		return delta;
+	}
+
+	/**
+	 * @param delta
+	 *            the delta to set
+	 */
+	public void setDelta(int delta) {
+		this.delta = delta;
+	}
+
+	/**
+	 * Variable referencing the value used in the safe stopping criterium.
+	 */
+	private int safetyStop = SAFETY_STOP;
+
+	/**
+	 * @return the safetyStop
+	 */
+	public int getSafetyStop() {
+		return safetyStop;
+	}
+
+	/**
+	 * @param safetyStop
+	 *            the safetyStop to set
+	 */
+	public void setSafetyStop(int safetyStop) {
+		this.safetyStop = safetyStop;
+	}
+
+	/**
+	 * Variable referencing the number of recently visited solutions which are
+	 * remembered by their hash. Moves leading to one of these solutions are
+	 * not evaluated. If this is 0 (the default), visited solutions are not
+	 * remembered.
+	 */
+	private int historyLength = 0;
+
+	/**
+	 * @return the historyLength
+	 */
+	public int getHistoryLength() {
+		return historyLength;
+	}
+
+	/**
+	 * @param historyLength
+	 *            the historyLength to set
+	 */
+	public void setHistoryLength(int historyLength) {
+		this.historyLength = historyLength;
+	}
+
+	/**
+	 * Variable referencing the number of good and diverse solutions, which are
+	 * kept in an elite pool. After too many iterations without improvement,
+	 * the search restarts from a solution on the path between the best
+	 * solution and another solution in the pool. If this is 0 (the default),
+	 * the search restarts from the best solution itself.
+	 */
+	private int eliteSize = 0;
+
+	/**
+	 * @return the eliteSize
+	 */
+	public int getEliteSize() {
+		return eliteSize;
+	}
+
+	/**
+	 * @param eliteSize
+	 *            the eliteSize to set
+	 */
+	public void setEliteSize(int eliteSize) {
+		this.eliteSize = eliteSize;
+	}
+
+	/**
+	 * Variable referencing the maximum time of one run of the search, or null
+	 * if there is no time limit.
+	 */
+	private Duration timeLimit = null;
+
+	/**
+	 * @return the timeLimit
+	 */
+	public Duration getTimeLimit() {
+		return timeLimit;
+	}
+
+	/**
+	 * Set the maximum time of one run of the search, starting when the search
+	 * is started. This includes building the initial solution, if the search
+	 * builds it itself.
+	 * 
+	 * If there is a time limit, the search continues until the time limit
+	 * has passed or the target has been reached: maxiter, delta and the
+	 * safety stop no longer stop the search.
+	 * 
+	 * @param timeLimit
+	 *            the timeLimit to set, or null to use the stopping rules
+	 */
+	public void setTimeLimit(Duration timeLimit) {
+		this.timeLimit = timeLimit;
+	}
+
+	/**
+	 * Variable referencing the best cost found so far. It might be shared by
+	 * several searches, which all stop as soon as it reaches the optimal cost
+	 * or the lower bound of the problem.
+	 */
+	private AtomicInteger incumbent = new AtomicInteger(Integer.MAX_VALUE);
+
+	/**
+	 * @return the incumbent
+	 */
+	public AtomicInteger getIncumbent() {
+		return incumbent;
+	}
+
+	/**
+	 * @param incumbent
+	 *            the incumbent to set
+	 */
+	public void setIncumbent(AtomicInteger incumbent) {
+		this.incumbent = incumbent;
+	}
+
+	/**
+	 * Variable referencing the metrics, to which the work done by the search
+	 * is added. They might be shared by several searches.
+	 */
+	private SearchMetrics metrics = new SearchMetrics();
+
+	/**
+	 * @return the metrics
+	 */
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * @param metrics
+	 *            the metrics to set
+	 */
+	public void setMetrics(SearchMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/************************************
+	 * CHECKPOINTS
+	 ************************************/
+
+	/**
+	 * Variable referencing the file to which a checkpoint of the search is
+	 * written periodically, or null if no checkpoints are written.
+	 */
+	private Path checkpointPath = null;
+
+	/**
+	 * @return the checkpointPath
+	 */
+	public Path getCheckpointPath() {
+		return checkpointPath;
+	}
+
+	/**
+	 * Set the file to which a checkpoint of the search is written
+	 * periodically, such that an interrupted run can be continued with
+	 * resume().
+	 * 
+	 * A checkpoint is written by a background thread, while the search goes
+	 * on. If the previous checkpoint is still being written, the next one is
+	 * taken as soon as it is done. The file is replaced atomically, so it
+	 * always contains a complete checkpoint. When a run stops, it waits until
+	 * the checkpoint being written is done; a run stopped by its time limit
+	 * then writes a last checkpoint, such that it can be continued with a
+	 * longer time limit by resume(path, timeLimit). If a checkpoint could not
+	 * be written, the run throws a CheckpointException, which holds its best
+	 * solution.
+	 * 
+	 * @param checkpointPath
+	 *            the checkpointPath to set, or null to write no checkpoints
+	 */
+	public void setCheckpointPath(Path checkpointPath) {
+		this.checkpointPath = checkpointPath;
+	}
+
+	/**
+	 * Variable referencing the time between two checkpoints.
+	 */
+	private Duration checkpointInterval = CHECKPOINT_INTERVAL;
+
+	/**
+	 * @return the checkpointInterval
+	 */
+	public Duration getCheckpointInterval() {
+		return checkpointInterval;
+	}
+
+	/**
+	 * @param checkpointInterval
+	 *            the checkpointInterval to set
+	 */
+	public void setCheckpointInterval(Duration checkpointInterval) {
+		this.checkpointInterval = checkpointInterval;
+	}
+
+	/**
+	 * Variable referencing the exception thrown by the last checkpoint of the
+	 * current or last run of the search which could not be written, or null if
+	 * all checkpoints have been written.
+	 */
+	private volatile IOException checkpointFailure = null;
+
+	/**
+	 * @return the checkpointFailure
+	 */
+	public IOException getCheckpointFailure() {
+		return checkpointFailure;
+	}
+
+	/**
+	 * Get the executor, which writes the checkpoints during a run of the
+	 * search, or null if no checkpoints are written.
+	 */
+	private ExecutorService startCheckpointWriter() {
+		if (getCheckpointPath() == null)
+			return null;
+		return newDaemonExecutor("tabu-search-checkpoints");
+	}
+
+	/**
+	 * Write a given checkpoint in the background, using the given executor.
+	 * 
+	 * @return The future, which is done when the checkpoint has been written.
+	 */
+	private Future<?> writeCheckpoint(ExecutorService writer,
+			final Checkpoint checkpoint) {
+		final Path path = getCheckpointPath();
+		return writer.submit(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					checkpoint.write(path);
+				} catch (IOException e) {
+					checkpointFailure = e;
+				}
+			}
+		});
+	}
+
+	/**
+	 * Write a given checkpoint on the current thread.
+	 */
+	private void writeCheckpoint(Checkpoint checkpoint) {
+		try {
+			checkpoint.write(getCheckpointPath());
+		} catch (IOException e) {
+			checkpointFailure = e;
+		}
+	}
+
+	/**
+	 * Wait until a given checkpoint, which is written in the background, is
+	 * done.
+	 * 
+	 * @return False if the current thread was interrupted while waiting.
+	 */
+	private static boolean awaitCheckpoint(Future<?> checkpoint) {
+		if (checkpoint == null)
+			return true;
+		try {
+			checkpoint.get();
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/************************************
+	 * LISTENERS
+	 ************************************/
+
+	/**
+	 * Variable referencing the listeners, which are notified of every new
+	 * best solution.
+	 */
+	private final List<ImprovementListener> listeners =
+			new CopyOnWriteArrayList<ImprovementListener>();
+
+	/**
+	 * Add a listener, which will be notified of every new best solution found
+	 * by the following runs of the search.
+	 */
+	public void addListener(ImprovementListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Remove a listener.
+	 */
+	public void removeListener(ImprovementListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Get the executor, which notifies the listeners during a run of the
+	 * search, or null if there are no listeners.
+	 * 
+	 * The executor has a single daemon thread, such that all notifications
+	 * are delivered in order, and the search never waits for a listener.
+	 */
+	private ExecutorService startNotifier() {
+		if (listeners.isEmpty())
+			return null;
+		return newDaemonExecutor("tabu-search-listeners");
+	}
+
+	/**
+	 * Get an executor with a single daemon thread with the given name, which
+	 * stops when it has been idle for a second.
+	 */
+	private static ExecutorService newDaemonExecutor(final String name) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 1,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, name);
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Notify all listeners of a new best solution, using the given executor.
+	 */
+	private void notifyListeners(ExecutorService notifier, Solution best,
+			int iteration, long elapsedTime) {
+		if (notifier == null)
+			return;
+		final Improvement improvement = new Improvement(best, iteration,
+				elapsedTime);
+		notifier.execute(new Runnable() {
+			@Override
+			public void run() {
+				for (ImprovementListener l : listeners)
+					l.improved(improvement);
+			}
+		});
+	}
+
 	/************************************
 	 * TABU SEARCH ALGORITHM
 	 ************************************/
@@ -35,89 +596,543 @@ public class TabuSearch {
 	 * @note algorithm TS in the paper
 	 */
 	public static Solution tabuSearch(Problem p) {
-		// Get the initial solution and initialize variables.
-		Solution s = getInitialSolution(p);
+		return new TabuSearch(p).search();
+	}
 
-		float bestCost = s.getCost();
+	/**
+	 * Tabu search algorithm, which is used to find an optimal solution of a JSS
+	 * problem, evaluating the neighbors in the given way.
+	 * 
+	 * @param p
+	 *            The given JSS instance
+	 * @param evaluation
+	 *            The way in which the neighbors are evaluated
+	 * @return The optimal solution of the tabu search
+	 */
+	public static Solution tabuSearch(Problem p, Evaluation evaluation) {
+		return tabuSearch(p, evaluation, false);
+	}
+
+	/**
+	 * Tabu search algorithm, which is used to find an optimal solution of a JSS
+	 * problem, evaluating the neighbors in the given way.
+	 * 
+	 * @param p
+	 *            The given JSS instance
+	 * @param evaluation
+	 *            The way in which the neighbors are evaluated
+	 * @param parallel
+	 *            True if the neighbors should be evaluated in parallel
+	 * @return The optimal solution of the tabu search
+	 */
+	public static Solution tabuSearch(Problem p, Evaluation evaluation,
+			boolean parallel) {
+		TabuSearch ts = new TabuSearch(p);
+		ts.setEvaluation(evaluation);
+		ts.setParallel(parallel);
+		return ts.search();
+	}
+
+	/**
+	 * Tabu search algorithm, which is used to find the best possible solution
+	 * of a JSS problem within the given time.
+	 * 
+	 * @param p
+	 *            The given JSS instance
+	 * @param timeLimit
+	 *            The maximum time of the search
+	 * @return The best solution found within the time limit
+	 */
+	public static Solution tabuSearch(Problem p, Duration timeLimit) {
+		TabuSearch ts = new TabuSearch(p);
+		ts.setTimeLimit(timeLimit);
+		return ts.search();
+	}
+
+	/**
+	 * Run the tabu search, starting from the bidirectional initial solution.
+	 * 
+	 * @return The optimal solution of the tabu search
+	 */
+	public Solution search() {
+		long start = System.nanoTime();
+		return search(getInitialSolution(getProblem()), start);
+	}
+
+	/**
+	 * Run the tabu search, starting from the bidirectional initial solution,
+	 * within the given time.
+	 * 
+	 * @param timeLimit
+	 *            The maximum time of the search, see setTimeLimit()
+	 * @return The best solution found within the time limit
+	 */
+	public Solution search(Duration timeLimit) {
+		setTimeLimit(timeLimit);
+		return search();
+	}
+
+	/**
+	 * Run the tabu search, starting from a given initial solution.
+	 * 
+	 * @param initial
+	 *            The initial solution of the JSS instance
+	 * @return The optimal solution of the tabu search
+	 */
+	public Solution search(Solution initial) {
+		return search(initial, System.nanoTime());
+	}
+
+	/**
+	 * Continue an interrupted run of the tabu search from the checkpoint
+	 * stored in a given file, exactly where it was interrupted: with the same
+	 * parameters, which are set on this search, and the same random choices.
+	 * The remaining iterations give the same result as if the run had not
+	 * been interrupted, unless it is stopped by its time limit, which
+	 * includes the time elapsed before the checkpoint.
+	 * 
+	 * The metrics of the interrupted run are not restored.
+	 * 
+	 * @param path
+	 *            The file of the checkpoint, for the problem of this search
+	 * @return The optimal solution of the tabu search
+	 * @throws InstanceFormatException
+	 *             If the file does not contain a checkpoint of the problem.
+	 * @throws IOException
+	 *             If the file cannot be read.
+	 * @throws CheckpointException
+	 *             If a checkpoint of the continued run could not be written.
+	 */
+	public Solution resume(Path path) throws IOException {
+		Checkpoint checkpoint = Checkpoint.read(getProblem(), path);
+		return resume(checkpoint, checkpoint.getTimeLimit());
+	}
+
+	/**
+	 * Continue an interrupted run of the tabu search from the checkpoint
+	 * stored in a given file, as resume(), but with a new time limit, which
+	 * includes the time elapsed before the checkpoint. This continues a run
+	 * stopped by its time limit from its last checkpoint.
+	 * 
+	 * @param path
+	 *            The file of the checkpoint, for the problem of this search
+	 * @param timeLimit
+	 *            The maximum time of the search, see setTimeLimit()
+	 * @return The optimal solution of the tabu search
+	 * @throws InstanceFormatException
+	 *             If the file does not contain a checkpoint of the problem.
+	 * @throws IOException
+	 *             If the file cannot be read.
+	 * @throws CheckpointException
+	 *             If a checkpoint of the continued run could not be written.
+	 */
+	public Solution resume(Path path, Duration timeLimit) throws IOException {
+		return resume(Checkpoint.read(getProblem(), path), timeLimit);
+	}
+
+	/**
+	 * Continue the run of a given checkpoint with a given time limit.
+	 */
+	private Solution resume(Checkpoint checkpoint, Duration timeLimit) {
+		checkpoint.restore(this);
+		setTimeLimit(timeLimit);
+		return search(checkpoint.getCurrent(), System.nanoTime()
+				- checkpoint.getElapsedTime(), checkpoint);
+	}
+
+	/**
+	 * Run the tabu search, starting from a given initial solution, as if it
+	 * was started at the given time (a value of System.nanoTime()).
+	 */
+	private Solution search(Solution initial, long start) {
+		return search(initial, start, null);
+	}
+
+	/**
+	 * Run the tabu search, starting from a given initial solution, as if it
+	 * was started at the given time (a value of System.nanoTime()), or
+	 * continue the run of a given checkpoint if it is not null.
+	 * 
+	 * The best solution found is always returned, also if the search is
+	 * stopped by its time limit, unless a checkpoint could not be written.
+	 */
+	private Solution search(Solution initial, long start, Checkpoint resumed) {
+		// Initialize variables.
+		final Problem p = getProblem();
+		Solution s = initial;
+		boolean timeLimited = getTimeLimit() != null;
+		long deadline = timeLimited ? start + getTimeLimit().toNanos() : 0;
+
+		timeToBest = System.nanoTime() - start;
+		ExecutorService notifier = startNotifier();
+		ExecutorService checkpointWriter = startCheckpointWriter();
+		checkpointFailure = null;
+		SearchMetrics metrics = getMetrics();
 		Solution bestSol = s;
-		TabuList t = new TabuList(p);
+		TabuList t = resumed == null ? new TabuList(p, getRandom()) : resumed
+				.getTabuList(p, getRandom());
+		HashHistory history = getHistoryLength() > 0 ? new HashHistory(
+				getHistoryLength()) : null;
+		// solutions in the pool differ in at least a tenth of the positions
+		int minimumDistance = Math.max(1, p.getNumberOfOperations() / 10);
+		ElitePool elite = getEliteSize() > 0 ? new ElitePool(getEliteSize(),
+				minimumDistance) : null;
+		PathRelinking relinking = elite == null ? null
+				: createPathRelinking(p);
+		Solution periodBest = s; // the best solution since the last restart
+		int lowerBound = p.getLowerBound();
 
 		// Try to improve the solution.
 		// K is the number of the iteration (the number of moves already
 		// executed) at the point where a move is gonna be executed.
 		int numberOfIterationsOfNoImprovement = 0;
 		int K = 0;
-		while (checkStoppingRule(K, numberOfIterationsOfNoImprovement)
-				&& K < getSafetyStop() && bestCost != p.getOptimalCost()) {
+
+		// Restore the state of an interrupted run, after everything which
+		// makes random choices has been initialized.
+		if (resumed != null) {
+			bestSol = resumed.getBest();
+			periodBest = resumed.getPeriodBest();
+			timeToBest = resumed.getTimeToBest();
+			if (history != null)
+				resumed.restore(history);
+			if (elite != null)
+				elite = new ElitePool(getEliteSize(), minimumDistance,
+						resumed.getElite());
+			K = resumed.getIteration();
+			numberOfIterationsOfNoImprovement = resumed
+					.getIterationsOfNoImprovement();
+			random.setState(resumed.getRandomState());
+		}
+		int bestCost = bestSol.getCost();
+		offer(getIncumbent(), bestCost);
+		Future<?> checkpoint = null; // the checkpoint being written
+		long checkpointTime = System.nanoTime();
+
+		// the working memory to evaluate moves on the search thread
+		MoveEvaluator evaluator = new MoveEvaluator(p);
+		IntStream.Builder trace = isTraced() ? IntStream.builder() : null;
+		// the metrics of the current iteration, indexed by their ordinal
+		long[] counts = new long[Metric.values().length];
+
+		RestartEvent stagnation = new RestartEvent(); // no improvement yet
+		stagnation.begin();
+		while ((timeLimited ? System.nanoTime() - deadline < 0
+				: checkStoppingRule(K, numberOfIterationsOfNoImprovement)
+						&& K < getSafetyStop())
+				&& !isTargetReached(p, lowerBound, getIncumbent().get())) {
 			Solution s_bar = s;
-			float costS_bar = Integer.MAX_VALUE;
+			int costS_bar = Integer.MAX_VALUE;
 			Move appliedMove = null; // no move
+			counts[Metric.ITERATIONS.ordinal()]++;
+			IterationEvent event = new IterationEvent();
+			event.begin();
+			if (history != null)
+				history.add(s.getHash());
+
+			// Evaluate all possible inversions, without building the
+			// neighboring solutions. Inversions leading to a recently visited
+			// solution are left out.
+			long time = System.nanoTime();
+			Move[] inversions = sortMoves(getPossibleInversions(s));
+			if (inversions.length == 0)
+				break; // no neighbors, the longest path cannot be changed
+			Move[] candidates = history == null ? inversions : removeRevisits(
+					s, inversions, history);
+			long generated = System.nanoTime();
+			int[] costs = evaluateMoves(s, candidates, getEvaluation(),
+					isParallel(), evaluator);
+			long evaluated = System.nanoTime();
+			counts[Metric.GENERATION_TIME.ordinal()] += generated - time;
+			counts[Metric.EVALUATION_TIME.ordinal()] += evaluated - generated;
+			counts[Metric.NEIGHBORS_GENERATED.ordinal()] += inversions.length;
+			counts[Metric.NEIGHBORS_EVALUATED.ordinal()] += costs.length;
+			counts[Metric.REVISITS_AVOIDED.ordinal()] += inversions.length
+					- candidates.length;
 
 			// Check all possible inversions.
-			for (Move m : s.getPossibleInversionsN1()) {
-				Neighbor1 n = new Neighbor1(m, s);
-				float costNeighbor = n.getNewSolution().getCost();
+			int rejections = 0;
+			boolean aspiration = false;
+			for (int i = 0; i < candidates.length; i++) {
+				Move m = candidates[i];
+				int costNeighbor = costs[i];
 
 				// Check if the neighbor improves the solution and is allowed
 				// following to the tabu list.
 				// Make an exception to tabu list (aspiration criterion) if the
 				// cost of the neighbor
 				// solution is lower than the solution found upon now.
+				boolean allowed = t.isAllowed(m, K);
 				if (costNeighbor < costS_bar
-						&& (costNeighbor < bestCost || t.isAllowed(m, K))) {
-					s_bar = n.getNewSolution();
+						&& (allowed || isAspirated(s, m, costNeighbor,
+								bestCost, evaluator))) {
 					costS_bar = costNeighbor;
 					appliedMove = m;
+					aspiration = !allowed;
+				} else if (!allowed) {
+					rejections++;
 				}
 			}
+			counts[Metric.TABU_REJECTIONS.ordinal()] += rejections;
+			if (aspiration)
+				counts[Metric.ASPIRATION_OVERRIDES.ordinal()]++;
+
+			// Only the chosen neighbor has to be built.
+			time = System.nanoTime();
+			if (appliedMove != null) {
+				s_bar = makeNeighbor(appliedMove, s).getNewSolution();
+			}
 
 			// Randomization. If all possible moves belong to tabu list and none
 			// satisfies aspiration criterion, choose a random move from all
-			// possible ones.
+			// possible ones. If all possible moves lead to a recently visited
+			// solution, the search is in a cycle, which is left by a random
+			// move as well.
 			if (appliedMove == null) {
-				HashSet<Move> inversions = s.getPossibleInversionsN1();
-				Move m = chooseRandomMoveFromSet(inversions);
-				Neighbor1 n = new Neighbor1(m, s);
+				if (candidates.length == 0) {
+					counts[Metric.CYCLES.ordinal()]++;
+					candidates = inversions;
+				}
+				Move m = chooseRandomMoveFromSet(candidates, getRandom());
+				Neighbor n = makeNeighbor(m, s);
 				s_bar = n.getNewSolution();
 				appliedMove = m;
+				counts[Metric.RANDOM_MOVES.ordinal()]++;
 			}
+			s_bar.getCost();
+			counts[Metric.NEIGHBORS_CONSTRUCTED.ordinal()]++;
+			counts[Metric.CONSTRUCTION_TIME.ordinal()] += System.nanoTime()
+					- time;
 
 			Phase phase = Phase.WORSEN;
 
 			if (s_bar.getCost() < s.getCost()) {
 				phase = Phase.IMPROVING;
 			}
+			if (s_bar.getCost() < periodBest.getCost())
+				periodBest = s_bar;
 
-			// If best solution upon now has been improved,
-			// update the best solution found so far.
-			// Also, if there has been no improvement during the last \Delta
-			// iterations, restart process (current solution = best solution).
-			if ((s_bar.getCost() < bestCost)
-					|| (numberOfIterationsOfNoImprovement == getDelta())) {
+			// If there has been no improvement during the last \Delta
+			// iterations, restart process (current solution = best solution,
+			// or the solution found by relinking it).
+			if (s_bar.getCost() >= bestCost
+					&& numberOfIterationsOfNoImprovement == getDelta()) {
+				stagnation.end();
+				if (stagnation.shouldCommit()) {
+					stagnation.iteration = K;
+					stagnation.iterationsWithoutImprovement =
+							numberOfIterationsOfNoImprovement;
+					stagnation.abandonedCost = s_bar.getCost();
+					stagnation.bestCost = bestCost;
+					stagnation.commit();
+				}
+				stagnation = new RestartEvent();
+				stagnation.begin();
+				s_bar = bestSol;
+				if (elite != null) {
+					elite.add(periodBest);
+					s_bar = relink(elite, relinking, bestSol);
+				}
+				periodBest = s_bar;
+				numberOfIterationsOfNoImprovement = 0;
+				phase = Phase.EUREKA;
+				counts[Metric.RESTARTS.ordinal()]++;
+			} else if (s_bar.getCost() >= bestCost) {
+				numberOfIterationsOfNoImprovement++;
+			}
+
+			// If best solution upon now has been improved, by the move or by
+			// relinking at a restart, update the best solution found so far.
+			if (s_bar.getCost() < bestCost) {
+				timeToBest = System.nanoTime() - start;
 				bestSol = s_bar;
 				bestCost = s_bar.getCost();
+				offer(getIncumbent(), bestCost);
+				notifyListeners(notifier, bestSol, K, timeToBest);
+				if (elite != null)
+					elite.add(bestSol);
 				numberOfIterationsOfNoImprovement = 0;
 				phase = Phase.EUREKA;
-			} else {
-				numberOfIterationsOfNoImprovement++;
+				stagnation.begin(); // the time without improvement restarts
 			}
 
+			time = System.nanoTime();
 			t.update(appliedMove, K, phase); // add applied move to tabu list
+			counts[Metric.TABU_LIST_UPDATE_TIME.ordinal()] += System.nanoTime()
+					- time;
+
+			event.end();
+			if (event.shouldCommit()) {
+				event.iteration = K;
+				event.phase = phase.name();
+				event.tabuLength = t.getLength();
+				event.neighbors = inversions.length;
+				event.currentCost = s_bar.getCost();
+				event.bestCost = bestCost;
+				event.commit();
+			}
 
 			s = s_bar;
+			if (trace != null)
+				trace.add(s.getCost());
 
 			K++;
+			metrics.add(counts); // also sets the counts to zero
+
+			// Take a checkpoint, if the previous one has been written.
+			if (checkpointWriter != null
+					&& System.nanoTime() - checkpointTime
+							>= getCheckpointInterval().toNanos()
+					&& (checkpoint == null || checkpoint.isDone())) {
+				checkpointTime = System.nanoTime();
+				checkpoint = writeCheckpoint(checkpointWriter, new Checkpoint(
+						this, s, bestSol, periodBest, K,
+						numberOfIterationsOfNoImprovement, t, history, elite,
+						checkpointTime - start, random.getState()));
+			}
+		}
+		metrics.add(counts); // the counts of an iteration left by break
+		numberOfIterations = K;
+		trajectory = trace == null ? null : trace.build().toArray();
+		if (notifier != null)
+			notifier.shutdown(); // pending notifications are still delivered
+		if (checkpointWriter != null) {
+			// A run stopped by its time limit is not finished, so it writes a
+			// last checkpoint, after the one being written.
+			if (awaitCheckpoint(checkpoint) && timeLimited)
+				writeCheckpoint(new Checkpoint(this, s, bestSol, periodBest, K,
+						numberOfIterationsOfNoImprovement, t, history, elite,
+						System.nanoTime() - start, random.getState()));
+			checkpointWriter.shutdown();
+			if (checkpointFailure != null)
+				throw new CheckpointException(checkpointFailure, bestSol);
 		}
 		return bestSol;
 	}
 
 	/**
+	 * Get the solution from which the search restarts: the best solution on
+	 * the path from the best solution found so far to a random other solution
+	 * in the elite pool, or the best solution itself if the pool contains no
+	 * other solution.
+	 */
+	private Solution relink(ElitePool elite, PathRelinking relinking,
+			Solution bestSol) {
+		ArrayList<Solution> others = new ArrayList<Solution>();
+		for (int i = 0; i < elite.size(); i++)
+			if (elite.get(i) != bestSol)
+				others.add(elite.get(i));
+		if (others.isEmpty())
+			return bestSol;
+
+		int steps = relinking.getNumberOfSteps();
+		Solution s = relinking.relink(bestSol, others.get(getRandom()
+				.nextInt(others.size())));
+		getMetrics().increment(Metric.PATH_RELINKINGS);
+		getMetrics().add(Metric.PATH_RELINKING_STEPS,
+				relinking.getNumberOfSteps() - steps);
+		return s;
+	}
+
+	/**
+	 * Create the path relinking of a run of the search.
+	 */
+	PathRelinking createPathRelinking(Problem p) {
+		return new PathRelinking(p, getRandom());
+	}
+
+	/**
+	 * Get the possible inversions of a given solution in the neighborhood of
+	 * the search.
+	 */
+	private Set<Move> getPossibleInversions(Solution s) {
+		if (getNeighborhood() == Neighborhood.N5)
+			return s.getPossibleInversionsN5();
+		if (getNeighborhood() == Neighborhood.NA)
+			return s.getPossibleInversionsNA();
+		return s.getPossibleInversionsN1();
+	}
+
+	/**
+	 * Check the aspiration criterion for a tabu move of a given solution, of
+	 * which the neighbor has the given cost: the move is allowed anyway if its
+	 * neighbor is better than the best solution found so far.
+	 * 
+	 * An estimated cost might be lower than the exact cost, so the neighbor is
+	 * then evaluated exactly with the given evaluator, before the tabu status
+	 * of the move is overridden.
+	 */
+	private boolean isAspirated(Solution s, Move m, int cost, int bestCost,
+			MoveEvaluator evaluator) {
+		if (cost >= bestCost)
+			return false;
+		return getEvaluation() == Evaluation.EXACT
+				|| evaluator.evaluate(s, m) < bestCost;
+	}
+
+	/**
+	 * Get the neighbor of a given solution, which results from a given move in
+	 * the neighborhood of the search.
+	 */
+	private Neighbor makeNeighbor(Move m, Solution s) {
+		if (getNeighborhood() == Neighborhood.N5)
+			return new Neighbor5(m, s);
+		if (getNeighborhood() == Neighborhood.NA)
+			return new NeighborA(m, s);
+		return new Neighbor1(m, s);
+	}
+
+	/**
+	 * Variable referencing the number of iterations executed by the last run
+	 * of the search.
+	 */
+	private int numberOfIterations = 0;
+
+	/**
+	 * @return the numberOfIterations
+	 */
+	public int getNumberOfIterations() {
+		return numberOfIterations;
+	}
+
+	/**
+	 * Variable referencing the cost of the current solution after every
+	 * iteration of the last run of the search, or null if it was not traced.
+	 */
+	private int[] trajectory = null;
+
+	/**
+	 * @return the trajectory
+	 */
+	public int[] getTrajectory() {
+		return trajectory;
+	}
+
+	/**
+	 * Variable referencing the time, in nanoseconds since the start of the
+	 * last run of the search, at which the best solution was found. If the
+	 * search builds the initial solution itself, its start is the start of
+	 * the search.
+	 */
+	private long timeToBest = 0;
+
+	/**
+	 * @return the timeToBest
+	 */
+	public long getTimeToBest() {
+		return timeToBest;
+	}
+
+	/**
+	 * Check the stopping rule of the search: stop if there has been no
+	 * improvement during the last delta iterations and the maximum number of
+	 * iterations has been exceeded.
 	 * 
 	 * @param k
 	 * @param numberOfIterationsOfNoImprovement
-	 * @return
+	 * @return True if the search may continue
 	 */
-	private static boolean checkStoppingRule(int k,
+	private boolean checkStoppingRule(int k,
 			int numberOfIterationsOfNoImprovement) {
 		if (numberOfIterationsOfNoImprovement >= getDelta() && k > getMaxiter()) {
 			return false;
@@ -125,34 +1140,111 @@ public class TabuSearch {
 		return true;
 	}
 
+	/**
+	 * Check if a given cost cannot be improved anymore, because it is the
+	 * optimal cost or the given lower bound of the given problem.
+	 */
+	private static boolean isTargetReached(Problem p, int lowerBound,
+			int cost) {
+		return cost == p.getOptimalCost() || cost <= lowerBound;
+	}
+
+	/**
+	 * Offer a given cost to the incumbent, shared by several searches. The
+	 * incumbent only changes if the cost is lower.
+	 */
+	private static void offer(AtomicInteger incumbent, int cost) {
+		int current = incumbent.get();
+		while (cost < current && !incumbent.compareAndSet(current, cost)) {
+			current = incumbent.get();
+		}
+	}
+
 	/************************************
 	 * UTILITY METHODS
 	 ************************************/
 
 	/**
-	 * Choose a random move from a given HashSet.
+	 * Choose a random move from a given array of moves.
+	 */
+	private static Move chooseRandomMoveFromSet(Move[] inversions, Random rand) {
+		return inversions[rand.nextInt(inversions.length)];
+	}
+
+	/**
+	 * Get the moves of a given set in a fixed order, which does not depend on
+	 * the order of the set.
+	 */
+	private static Move[] sortMoves(Set<Move> moves) {
+		Move[] sorted = moves.toArray(new Move[moves.size()]);
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	/**
+	 * Get the given moves of a given solution, except those leading to a
+	 * solution of which the hash is in the given history. The order of the
+	 * moves is kept.
+	 */
+	private static Move[] removeRevisits(Solution s, Move[] moves,
+			HashHistory history) {
+		Move[] result = new Move[moves.length];
+		int size = 0;
+		for (Move m : moves)
+			if (!history.contains(s.getHash(m)))
+				result[size++] = m;
+		return size == moves.length ? moves : Arrays.copyOf(result, size);
+	}
+
+	/**
+	 * Evaluate the given moves of a given solution in the given way. The i-th
+	 * cost belongs to the i-th move.
 	 * 
-	 * @return
-	 * @throws Exception
-	 *             If
-	 */
-	private static Move chooseRandomMoveFromSet(HashSet<Move> inversions) {
-		int size = inversions.size();
-		int item = new Random().nextInt(size);
-		int i = 0;
-		for (Move m : inversions) {
-			if (i == item)
-				return m;
-			i = i + 1;
-		}
-		// Should never happen in tabu search.
-		try {
-			throw new Exception("Random move could not be chosen.");
-		} catch (Exception e) {
-			e.printStackTrace();
-			return null;
-		}
+	 * If parallel is true, the moves are evaluated concurrently. The solution
+	 * itself is only read, after its heads and tails have been calculated by
+	 * the calling thread. Every task evaluating moves exactly gets its own
+	 * evaluator, which is garbage once the moves have been evaluated.
+	 * Otherwise, the given evaluator is used.
+	 */
+	private static int[] evaluateMoves(final Solution s, final Move[] moves,
+			Evaluation evaluation, boolean parallel, MoveEvaluator evaluator) {
+		final int[] costs = new int[moves.length];
+		s.getHeads();
+		s.getTails();
 
+		if (evaluation == Evaluation.ESTIMATED) {
+			IntStream indices = IntStream.range(0, moves.length);
+			if (parallel)
+				indices = indices.parallel();
+			indices.forEach(new IntConsumer() {
+				@Override
+				public void accept(int i) {
+					costs[i] = s.estimateCost(moves[i]);
+				}
+			});
+		} else if (parallel) {
+			IntStream.range(0, moves.length).parallel()
+					.collect(new Supplier<MoveEvaluator>() {
+						@Override
+						public MoveEvaluator get() {
+							return new MoveEvaluator(s);
+						}
+					}, new ObjIntConsumer<MoveEvaluator>() {
+						@Override
+						public void accept(MoveEvaluator e, int i) {
+							costs[i] = e.evaluate(s, moves[i]);
+						}
+					}, new BiConsumer<MoveEvaluator, MoveEvaluator>() {
+						@Override
+						public void accept(MoveEvaluator e1, MoveEvaluator e2) {
+							// the costs have already been stored
+						}
+					});
+		} else {
+			for (int i = 0; i < moves.length; i++)
+				costs[i] = evaluator.evaluate(s, moves[i]);
+		}
+		return costs;
 	}
 
 	/**
@@ -167,6 +1259,21 @@ public class TabuSearch {
 	 * @note algorithm bi-dir in the paper
 	 */
 	public static Solution getInitialSolution(Problem p) {
+		return getInitialSolution(p, null);
+	}
+
+	/**
+	 * Get the initial solution of a given JSS problem, using a bidirectional
+	 * algorithm with the semi greedy priority rule, which makes its random
+	 * choices with the given random number generator.
+	 * 
+	 * If the random number generator is null, the fixed priority rule is used
+	 * instead.
+	 */
+	public static Solution getInitialSolution(Problem p, Random rand) {
+		InitialSolutionEvent event = new InitialSolutionEvent();
+		event.begin();
+
 		// initialisation: sets of scheduled operations
 		HashSet<Operation> l = new HashSet<Operation>();
 		HashSet<Operation> r = new HashSet<Operation>();
@@ -190,7 +1297,7 @@ public class TabuSearch {
 		while (l.size() + r.size() < p.getNumberOfOperations()) {
 			
 			// left schedule
-			Entry<Operation, Integer> pair = chooseOperationListSchedulePriorityRule(s);
+			Entry<Operation, Integer> pair = chooseOperation(s, rand);
 			Operation o = pair.getKey();
 			int min = pair.getValue();
 
@@ -225,7 +1332,7 @@ public class TabuSearch {
 			if (l.size() + r.size() < p.getNumberOfOperations()) {
 				
 				// right schedule
-				Entry<Operation, Integer> pair2 = chooseOperationListSchedulePriorityRule(t);
+				Entry<Operation, Integer> pair2 = chooseOperation(t, rand);
 				Operation o2 = pair2.getKey();
 				int min2 = pair2.getValue();
 
@@ -256,9 +1363,26 @@ public class TabuSearch {
 				}
 			}
 		}
+		commitEvent(event, "bidirectional", rand != null, initSol);
 		return initSol;
 	}
 
+	/**
+	 * Commit the given event for the construction of the given initial
+	 * solution, if it is recorded.
+	 */
+	private static void commitEvent(InitialSolutionEvent event,
+			String algorithm, boolean randomized, Solution s) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.algorithm = algorithm;
+			event.randomized = randomized;
+			event.operations = s.getNumberOfOperations();
+			event.cost = s.getCost();
+			event.commit();
+		}
+	}
+
 	/**
 	 * Get the initial solution of a given JSS problem, using a schedule which
 	 * is time increasing.
@@ -267,6 +1391,9 @@ public class TabuSearch {
 	 * getInitialSolution.
 	 */
 	public static Solution getInitialSolutionOnlyLeft(Problem p) {
+		InitialSolutionEvent event = new InitialSolutionEvent();
+		event.begin();
+
 		// initialisation: sets of scheduled operations
 		HashSet<Operation> l = new HashSet<Operation>();
 		HashSet<Operation> r = new HashSet<Operation>();
@@ -319,6 +1446,7 @@ public class TabuSearch {
 				}
 			}
 		}
+		commitEvent(event, "left", false, initSol);
 		return initSol;
 	}
 
@@ -331,8 +1459,10 @@ public class TabuSearch {
 		Entry<Operation, Integer> pair = null;
 		int min2 = Integer.MAX_VALUE;
 		for (Entry<Operation, Integer> e : t.entrySet()) {
-			if (min2 > e.getValue()) { // choose operation with smallest waiting
-										// time/queue
+			if (min2 > e.getValue() // choose operation with smallest waiting
+									// time/queue, the lowest id on ties
+					|| (min2 == e.getValue() && e.getKey().getId() < pair
+							.getKey().getId())) {
 				pair = e;
 				min2 = e.getValue();
 			}
@@ -341,44 +1471,54 @@ public class TabuSearch {
 	}
 
 	/**
-	 * Choose the operation with the earliest starting time (increasing time or
-	 * with the smallest queue (decreasing time).
-	 * 
-	 * This priority rule gives does not improve the fixed priority rule and
-	 * won't be used finally.
+	 * Choose an operation using the semi greedy priority rule if a random
+	 * number generator is given, or else using the fixed priority rule.
+	 */
+	private static Entry<Operation, Integer> chooseOperation(
+			HashMap<Operation, Integer> t, Random rand) {
+		if (rand == null)
+			return chooseOperationListSchedulePriorityRule(t);
+		return chooseOperationSemiGreedy(t, rand);
+	}
+
+	/**
+	 * Choose randomly one of the C operations with the earliest starting time
+	 * (increasing time or with the smallest queue (decreasing time).
 	 * 
-	 * It can still be used to do some experiments.
+	 * This priority rule gives does not improve the fixed priority rule, but
+	 * it is used to give several searches different initial solutions.
 	 */
-	@SuppressWarnings("unused")
 	private static Entry<Operation, Integer> chooseOperationSemiGreedy(
-			HashMap<Operation, Integer> t) {
+			HashMap<Operation, Integer> t, Random rand) {
 		List<Entry<Operation, Integer>> smallest = findSmallest(t, getC());
-		Random r = new Random();
-		int i = r.nextInt(smallest.size());
+		int i = rand.nextInt(smallest.size());
 		return smallest.get(i);
 	}
 
 	/**
 	 * Comparator which is used to find the n smallest elements from a given
-	 * map.
+	 * map. Operations with the same value are ordered by their id.
 	 */
-	private static <K, V extends Comparable<? super V>> List<Entry<K, V>> findSmallest(
-			Map<K, V> map, int n) {
-		Comparator<? super Entry<K, V>> comparator = new Comparator<Entry<K, V>>() {
+	private static List<Entry<Operation, Integer>> findSmallest(
+			Map<Operation, Integer> map, int n) {
+		Comparator<Entry<Operation, Integer>> comparator = new Comparator<Entry<Operation, Integer>>() {
 			@Override
-			public int compare(Entry<K, V> e0, Entry<K, V> e1) {
-				V v0 = e0.getValue();
-				V v1 = e1.getValue();
-				return v0.compareTo(v1);
+			public int compare(Entry<Operation, Integer> e0,
+					Entry<Operation, Integer> e1) {
+				int c = e0.getValue().compareTo(e1.getValue());
+				if (c != 0)
+					return c;
+				return Integer.compare(e0.getKey().getId(), e1.getKey()
+						.getId());
 			}
 		};
-		PriorityQueue<Entry<K, V>> lowest = new PriorityQueue<Entry<K, V>>(n,
-				comparator);
-		for (Entry<K, V> entry : map.entrySet()) {
+		PriorityQueue<Entry<Operation, Integer>> lowest = new PriorityQueue<Entry<Operation, Integer>>(
+				n, comparator);
+		for (Entry<Operation, Integer> entry : map.entrySet()) {
 			lowest.offer(entry);
 		}
 
-		List<Entry<K, V>> result = new ArrayList<Map.Entry<K, V>>();
+		List<Entry<Operation, Integer>> result = new ArrayList<Entry<Operation, Integer>>();
 		while (result.size() < n && lowest.size() > 0) {
 			result.add(lowest.poll());
 		}
@@ -403,40 +1543,24 @@ public class TabuSearch {
 	}
 
 	/**
-	 * Variable referencing the global maximum number of iterations.
-	 */
-	private static final int MAXITER = 1200;
-
-	/**
-	 * @return the maxiter
-	 */
-	public static int getMaxiter() {
-		return MAXITER;
-	}
-
-	/**
-	 * Variable referencing the restarting parameter delta.
+	 * Variable referencing the default global maximum number of iterations.
 	 */
-	private static final int DELTA = 800;
+	public static final int MAXITER = 1200;
 
 	/**
-	 * @return the delta
+	 * Variable referencing the default restarting parameter delta.
 	 */
-	public static int getDelta() {
-		return DELTA;
-	}
+	public static final int DELTA = 800;
 
 	/**
-	 * Variable referencing the value used in the safe stopping criterium for
-	 * tabu search.
+	 * Variable referencing the default value used in the safe stopping
+	 * criterium for tabu search.
 	 */
-	private static final int SAFETY_STOP = 5 * getMaxiter();
+	public static final int SAFETY_STOP = 5 * MAXITER;
 
 	/**
-	 * @return the safetyStop
+	 * Variable referencing the default time between two checkpoints.
 	 */
-	public static int getSafetyStop() {
-		return SAFETY_STOP;
-	}
+	public static final Duration CHECKPOINT_INTERVAL = Duration.ofMinutes(1);
 
 }